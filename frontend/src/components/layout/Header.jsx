@@ -3,6 +3,7 @@ import { FiMenu, FiBell, FiUser, FiLogOut } from 'react-icons/fi';
 import { useAuth } from '../../context/AuthContext';
 import { useNavigate } from 'react-router-dom';
 import notificationService from '../../services/notification.service';
+import websocketService from '../../services/websocket.service';
 
 const Header = ({ onMenuClick, onNotificationClick }) => {
   const { user, logout } = useAuth();
@@ -12,8 +13,17 @@ const Header = ({ onMenuClick, onNotificationClick }) => {
 
   useEffect(() => {
     loadUnreadCount();
-    const interval = setInterval(loadUnreadCount, 30000);
-    return () => clearInterval(interval);
+    const unsubscribe = websocketService.onUnreadCount(setUnreadCount);
+    // Updates are pushed over the websocket; only poll while it is down
+    const interval = setInterval(() => {
+      if (!websocketService.isConnected()) {
+        loadUnreadCount();
+      }
+    }, 30000);
+    return () => {
+      unsubscribe();
+      clearInterval(interval);
+    };
   }, []);
 
   const loadUnreadCount = async () => {
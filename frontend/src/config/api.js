@@ -52,11 +52,18 @@ export const API_ENDPOINTS = {
   // Notifications
   NOTIFICATIONS: {
     LIST: '/notifications',
+    PAGE: '/notifications/page',
     UNREAD: '/notifications/unread',
     COUNT: '/notifications/count',
     ACKNOWLEDGE: (id) => `/notifications/${id}/acknowledge`,
     SNOOZE: (id) => `/notifications/${id}/snooze`,
     DELETE: (id) => `/notifications/${id}`,
+    ACKNOWLEDGE_ALL: '/notifications/acknowledge-all',
+    DELETE_READ: '/notifications/read',
+  },
+  // Statistics
+  STATS: {
+    DASHBOARD: '/stats/dashboard',
   },
   // Contexts
   CONTEXTS: {
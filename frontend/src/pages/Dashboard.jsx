@@ -4,6 +4,7 @@ import { toast } from 'react-toastify';
 import { FiCheckSquare, FiClock, FiAlertCircle, FiTrendingUp } from 'react-icons/fi';
 import taskService from '../services/task.service';
 import projectService from '../services/project.service';
+import statsService from '../services/stats.service';
 import TaskCard from '../components/tasks/TaskCard';
 
 const Dashboard = () => {
@@ -25,10 +26,9 @@ const Dashboard = () => {
   const loadDashboardData = async () => {
     try {
       setLoading(true);
-      const [allTasks, today, overdue, projectsData] = await Promise.all([
-        taskService.getAllTasks(),
+      const [dashboardStats, today, projectsData] = await Promise.all([
+        statsService.getDashboardStats(),
         taskService.getTodayTasks(),
-        taskService.getOverdueTasks(),
         projectService.getAllProjects(),
       ]);
 
@@ -37,9 +37,9 @@ const Dashboard = () => {
 
       setStats({
         todayTasks: today.length,
-        overdueTasks: overdue.length,
-        completedTasks: allTasks.filter(t => t.status === 'COMPLETED').length,
-        inProgressTasks: allTasks.filter(t => t.status === 'IN_PROGRESS').length,
+        overdueTasks: dashboardStats.overdue,
+        completedTasks: dashboardStats.completed,
+        inProgressTasks: dashboardStats.byStatus.IN_PROGRESS,
       });
     } catch (error) {
       toast.error('Failed to load dashboard data');
@@ -37,7 +37,7 @@ const Projects = () => {
 
     try {
       if (editingProject) {
-        await projectService.updateProject(editingProject.id, formData);
+        await projectService.updateProject(editingProject.id, formData, editingProject.version);
         toast.success('Project updated successfully');
       } else {
         await projectService.createProject(formData);
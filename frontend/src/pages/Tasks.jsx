@@ -89,7 +89,9 @@ const Tasks = () => {
         reminders: taskData.reminders || [],
       };
 
-      await taskService.updateTask(editingTask.id, cleanedData);
+      // An instance carries its own version, not the version of its recurring task
+      const version = editingTask.instanceId ? null : editingTask.version;
+      await taskService.updateTask(editingTask.id, cleanedData, version);
       toast.success('Task updated successfully');
       setShowForm(false);
       setEditingTask(null);
@@ -133,7 +135,7 @@ const Tasks = () => {
     try {
       // Check if this is a recurring task instance
       if (task.instanceId) {
-        await taskService.updateInstanceStatus(task.instanceId, status);
+        await taskService.updateInstanceStatus(task.instanceId, status, task.version);
       } else {
         await taskService.updateTaskStatus(task.id, status);
       }
@@ -7,6 +7,13 @@ const notificationService = {
     return response.data.data || [];
   },
 
+  async getNotificationPage(cursor = {}, limit = 20) {
+    const response = await api.get(API_ENDPOINTS.NOTIFICATIONS.PAGE, {
+      params: { ...cursor, limit },
+    });
+    return response.data.data;
+  },
+
   async getUnreadNotifications() {
     const response = await api.get(API_ENDPOINTS.NOTIFICATIONS.UNREAD);
     return response.data.data || [];
@@ -22,6 +29,18 @@ const notificationService = {
     return response.data.data;
   },
 
+  async acknowledgeAll() {
+    const response = await api.post(API_ENDPOINTS.NOTIFICATIONS.ACKNOWLEDGE_ALL);
+    return response.data.data?.updated || 0;
+  },
+
+  async deleteReadNotifications(olderThanDays = 30) {
+    const response = await api.delete(API_ENDPOINTS.NOTIFICATIONS.DELETE_READ, {
+      params: { olderThanDays },
+    });
+    return response.data.data?.deleted || 0;
+  },
+
   async deleteNotification(id) {
     await api.delete(API_ENDPOINTS.NOTIFICATIONS.DELETE(id));
   },
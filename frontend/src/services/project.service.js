@@ -22,8 +22,9 @@ const projectService = {
     return response.data.data;
   },
 
-  async updateProject(id, projectData) {
-    const response = await api.put(API_ENDPOINTS.PROJECTS.UPDATE(id), projectData);
+  async updateProject(id, projectData, version) {
+    const headers = version != null ? { 'If-Match': `"${version}"` } : {};
+    const response = await api.put(API_ENDPOINTS.PROJECTS.UPDATE(id), projectData, { headers });
     return response.data.data;
   },
 
@@ -0,0 +1,11 @@
+import api from './api.service';
+import { API_ENDPOINTS } from '../config/api';
+
+const statsService = {
+  async getDashboardStats() {
+    const response = await api.get(API_ENDPOINTS.STATS.DASHBOARD);
+    return response.data.data;
+  },
+};
+
+export default statsService;
@@ -37,8 +37,20 @@ const taskService = {
     return response.data.data;
   },
 
-  async updateTask(id, taskData) {
-    const response = await api.put(API_ENDPOINTS.TASKS.UPDATE(id), taskData);
+  // Pass the version the edit started from to get a 409 instead of overwriting a newer change
+  async updateTask(id, taskData, version) {
+    const headers = version != null ? { 'If-Match': `"${version}"` } : {};
+    const response = await api.put(API_ENDPOINTS.TASKS.UPDATE(id), taskData, { headers });
+    return response.data.data;
+  },
+
+  // Merge patch of scalar fields only; null clears a field
+  async patchTask(id, changes, version) {
+    const headers = { 'Content-Type': 'application/merge-patch+json' };
+    if (version != null) {
+      headers['If-Match'] = `"${version}"`;
+    }
+    const response = await api.patch(API_ENDPOINTS.TASKS.UPDATE(id), changes, { headers });
     return response.data.data;
   },
 
@@ -70,11 +82,12 @@ const taskService = {
     return response.data.data || [];
   },
 
-  async updateInstanceStatus(instanceId, status) {
+  async updateInstanceStatus(instanceId, status, version) {
+    const headers = version != null ? { 'If-Match': `"${version}"` } : {};
     await api.put(
       API_ENDPOINTS.TASKS.INSTANCE_STATUS(instanceId),
       null,
-      { params: { status } }
+      { params: { status }, headers }
     );
   },
 };
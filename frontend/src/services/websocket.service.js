@@ -7,6 +7,13 @@ class WebSocketService {
     this.client = null;
     this.connected = false;
     this.subscriptions = new Map();
+    this.unreadCountListeners = new Set();
+  }
+
+  // Registers a listener for server-pushed unread counts; returns an unsubscribe function
+  onUnreadCount(listener) {
+    this.unreadCountListeners.add(listener);
+    return () => this.unreadCountListeners.delete(listener);
   }
 
   connect(userId, onNotification) {
@@ -34,16 +41,36 @@ class WebSocketService {
         console.log('WebSocket connected');
         this.connected = true;
 
-        // Subscribe to user notifications
+        // Subscribe to user notifications (the server resolves /user/queue/... to this session)
         const subscription = this.client.subscribe(
-          `/user/${userId}/queue/notifications`,
+          '/user/queue/notifications',
           (message) => {
             const notification = JSON.parse(message.body);
             onNotification(notification);
           }
         );
 
+        // Bursts are coalesced by the server into a single frame carrying an array
+        const batchSubscription = this.client.subscribe(
+          '/user/queue/notifications-batch',
+          (message) => {
+            const notifications = JSON.parse(message.body);
+            notifications.forEach((notification) => onNotification(notification));
+          }
+        );
+
+        // The server pushes the new unread count whenever it changes
+        const unreadCountSubscription = this.client.subscribe(
+          '/user/queue/unread-count',
+          (message) => {
+            const count = JSON.parse(message.body);
+            this.unreadCountListeners.forEach((listener) => listener(count));
+          }
+        );
+
         this.subscriptions.set('notifications', subscription);
+        this.subscriptions.set('notifications-batch', batchSubscription);
+        this.subscriptions.set('unread-count', unreadCountSubscription);
         resolve();
       };
 
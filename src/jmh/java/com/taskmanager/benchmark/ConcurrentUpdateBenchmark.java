@@ -0,0 +1,148 @@
+package com.taskmanager.benchmark;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of concurrent read-modify-write updates to a few hot task rows:
+ * the version check the task updates use against locking the row with
+ * {@code SELECT ... FOR UPDATE}. Optimistic updates that lose a race are retried
+ * and counted.
+ * <p>
+ * Runs on in-memory H2, so it shows the relative cost of conflicts and lock
+ * waits, not absolute PostgreSQL numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ConcurrentUpdateBenchmark {
+
+    private static final String READ_SQL = "SELECT version FROM tasks WHERE id = ?";
+    private static final String LOCK_SQL = READ_SQL + " FOR UPDATE";
+    private static final String VERSIONED_UPDATE_SQL =
+            "UPDATE tasks SET status = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String UPDATE_SQL = "UPDATE tasks SET status = ?, version = version + 1 WHERE id = ?";
+
+    @Param({"1", "16"})
+    private int hotRows;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        keepAlive = dataSource.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS tasks");
+            statement.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, status VARCHAR(20) NOT NULL, "
+                    + "version BIGINT NOT NULL)");
+            for (int id = 1; id <= hotRows; id++) {
+                statement.execute("INSERT INTO tasks VALUES (" + id + ", 'NOT_STARTED', 0)");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Worker {
+
+        public long retries;
+
+        private Connection connection;
+
+        @Setup
+        public void open(ConcurrentUpdateBenchmark benchmark) throws SQLException {
+            connection = benchmark.dataSource.getConnection();
+            connection.setAutoCommit(false);
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounters() {
+            retries = 0;
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int optimistic(Worker worker) throws SQLException {
+        long id = 1 + ThreadLocalRandom.current().nextInt(hotRows);
+        Connection connection = worker.connection;
+        while (true) {
+            long version = readVersion(connection, READ_SQL, id);
+            int updated;
+            try (PreparedStatement update = connection.prepareStatement(VERSIONED_UPDATE_SQL)) {
+                update.setString(1, "IN_PROGRESS");
+                update.setLong(2, id);
+                update.setLong(3, version);
+                updated = update.executeUpdate();
+            }
+            connection.commit();
+            if (updated == 1) {
+                return updated;
+            }
+            worker.retries++;
+        }
+    }
+
+    @Benchmark
+    public int pessimistic(Worker worker) throws SQLException {
+        long id = 1 + ThreadLocalRandom.current().nextInt(hotRows);
+        Connection connection = worker.connection;
+        readVersion(connection, LOCK_SQL, id);
+        int updated;
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            update.setString(1, "IN_PROGRESS");
+            update.setLong(2, id);
+            updated = update.executeUpdate();
+        }
+        connection.commit();
+        return updated;
+    }
+
+    private static long readVersion(Connection connection, String sql, long id) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            select.setLong(1, id);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
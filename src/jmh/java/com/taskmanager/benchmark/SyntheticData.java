@@ -0,0 +1,184 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.entity.Context;
+import com.taskmanager.entity.OneTimeTask;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.RecurrencePattern;
+import com.taskmanager.entity.RecurringTask;
+import com.taskmanager.entity.Reminder;
+import com.taskmanager.entity.TaskInstance;
+import com.taskmanager.entity.User;
+import com.taskmanager.entity.enums.NotificationType;
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.RecurrenceFrequency;
+import com.taskmanager.entity.enums.TaskStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic in-memory entities for the benchmarks. The same seed always
+ * yields the same data, so runs stay comparable.
+ */
+public final class SyntheticData {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final Random random;
+    private final User user;
+    private final List<Project> projects = new ArrayList<>();
+    private final List<Context> contexts = new ArrayList<>();
+    private long nextId = 1;
+
+    public SyntheticData(long seed) {
+        this.random = new Random(seed);
+        this.user = User.builder()
+                .id(nextId++)
+                .email("bench@example.com")
+                .firstName("Bench")
+                .lastName("User")
+                .password("x")
+                .build();
+        for (int i = 0; i < 5; i++) {
+            projects.add(Project.builder().id(nextId++).name("Project " + i).user(user).build());
+        }
+        for (String name : List.of("@home", "@work", "@phone", "@computer", "@errands")) {
+            contexts.add(Context.builder().id(nextId++).name(name).user(user).build());
+        }
+    }
+
+    public User user() {
+        return user;
+    }
+
+    /**
+     * One-time tasks due between {@code from} and {@code to}, spread evenly.
+     */
+    public List<OneTimeTask> oneTimeTasks(int count, LocalDate from, LocalDate to) {
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        List<OneTimeTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OneTimeTask task = OneTimeTask.builder()
+                    .id(nextId++)
+                    .title("Task " + i)
+                    .description("Synthetic task " + i)
+                    .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .dueDate(from.plusDays(i % days))
+                    .dueTime(random.nextBoolean() ? LocalTime.of(8 + random.nextInt(10), 0) : null)
+                    .estimatedDuration(15 * (1 + random.nextInt(8)))
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .version(0L)
+                    .project(random.nextInt(3) == 0 ? null : projects.get(random.nextInt(projects.size())))
+                    .contexts(randomContexts())
+                    .user(user)
+                    .build();
+            task.setReminders(new ArrayList<>(List.of(reminder(task, 15), reminder(task, 60))));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Recurring tasks with a realistic frequency mix, each with one instance per
+     * day between {@code from} and {@code to} on which it occurs.
+     */
+    public List<RecurringTask> recurringTasks(int count, LocalDate from, LocalDate to) {
+        List<RecurringTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RecurringTask task = RecurringTask.builder()
+                    .id(nextId++)
+                    .title("Recurring " + i)
+                    .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .dueTime(LocalTime.of(7 + random.nextInt(12), 30))
+                    .estimatedDuration(30)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .version(0L)
+                    .project(projects.get(random.nextInt(projects.size())))
+                    .contexts(randomContexts())
+                    .user(user)
+                    .build();
+            task.setRecurrencePattern(pattern(frequencyMix(i), from));
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1 + random.nextInt(3))) {
+                task.addTaskInstance(TaskInstance.builder()
+                        .id(nextId++)
+                        .scheduledDate(date)
+                        .status(STATUSES[random.nextInt(STATUSES.length)])
+                        .createdAt(LocalDateTime.now())
+                        .version(0L)
+                        .build());
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    public static List<TaskInstance> instancesOf(List<RecurringTask> tasks) {
+        List<TaskInstance> instances = new ArrayList<>();
+        tasks.forEach(task -> instances.addAll(task.getTaskInstances()));
+        return instances;
+    }
+
+    public static RecurrencePattern pattern(RecurrenceFrequency frequency, LocalDate startDate) {
+        RecurrencePattern.RecurrencePatternBuilder pattern = RecurrencePattern.builder()
+                .frequency(frequency)
+                .interval(1)
+                .startDate(startDate)
+                .endDate(startDate.plusYears(2));
+        switch (frequency) {
+            case WEEKLY -> pattern.daysOfWeek(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY));
+            case BIWEEKLY -> pattern.daysOfWeek(EnumSet.of(DayOfWeek.TUESDAY)).interval(2);
+            case MONTHLY -> pattern.dayOfMonth(15);
+            default -> {
+            }
+        }
+        return pattern.build();
+    }
+
+    /**
+     * Roughly the mix seen in practice: mostly daily and weekly routines.
+     */
+    private static RecurrenceFrequency frequencyMix(int i) {
+        int slot = i % 10;
+        if (slot < 4) {
+            return RecurrenceFrequency.DAILY;
+        }
+        if (slot < 7) {
+            return RecurrenceFrequency.WEEKLY;
+        }
+        if (slot < 8) {
+            return RecurrenceFrequency.BIWEEKLY;
+        }
+        return slot < 9 ? RecurrenceFrequency.MONTHLY : RecurrenceFrequency.YEARLY;
+    }
+
+    private Set<Context> randomContexts() {
+        Set<Context> selected = new HashSet<>();
+        int count = random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            selected.add(contexts.get(random.nextInt(contexts.size())));
+        }
+        return selected;
+    }
+
+    private Reminder reminder(OneTimeTask task, int leadMinutes) {
+        return Reminder.builder()
+                .id(nextId++)
+                .task(task)
+                .leadTimeMinutes(leadMinutes)
+                .remindAt(task.getDueDate().atStartOfDay().minusMinutes(leadMinutes))
+                .notificationType(NotificationType.POPUP)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.dto.task.CreateOneTimeTaskRequest;
+import com.taskmanager.entity.*;
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.factory.TaskFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk creation of tasks with reminders through {@link TaskFactory} and Hibernate,
+ * with JDBC batching off ({@code batchSize=1}) and at the configured size.
+ * <p>
+ * Runs the real entity mappings on in-memory H2. Against PostgreSQL the gap is
+ * larger, since every unbatched statement also pays a network round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBulkInsertBenchmark {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            User.class, NotificationPreferences.class, Context.class, Project.class, Task.class,
+            OneTimeTask.class, RecurringTask.class, RecurrencePattern.class, TaskInstance.class,
+            Reminder.class, TaskComment.class, Notification.class, NotificationOutbox.class,
+            DeadLetterMail.class, AuditLog.class, ChangeLogEntry.class, UserChangeSequence.class);
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"500"})
+    private int tasks;
+
+    private SessionFactory sessionFactory;
+    private TaskFactory taskFactory;
+    private List<CreateOneTimeTaskRequest> requests;
+    private Long userId;
+
+    @Setup
+    @SuppressWarnings("deprecation") // native bootstrap only reads the hibernate.connection.* keys
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, "jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.USER, "sa")
+                .applySetting(AvailableSettings.PASS, "")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.ORDER_UPDATES, true)
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        ENTITIES.forEach(sources::addAnnotatedClass);
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        // Requests without project or contexts never reach the repositories
+        taskFactory = new TaskFactory(null, null);
+        requests = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            requests.add(CreateOneTimeTaskRequest.builder()
+                    .title("Task " + i)
+                    .description("Bulk created task " + i)
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .dueDate(LocalDate.of(2025, 1, 1).plusDays(i % 90))
+                    .dueTime(LocalTime.of(9, 0))
+                    .estimatedDuration(30)
+                    .reminders(List.of(
+                            CreateOneTimeTaskRequest.ReminderRequest.builder().leadTimeMinutes(15).build(),
+                            CreateOneTimeTaskRequest.ReminderRequest.builder().leadTimeMinutes(60).build()))
+                    .build());
+        }
+
+        userId = sessionFactory.fromTransaction(session -> {
+            User user = User.builder()
+                    .email("bench@example.com")
+                    .password("x")
+                    .firstName("Bench")
+                    .lastName("User")
+                    .build();
+            session.persist(user);
+            return user.getId();
+        });
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTasks() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from Reminder").executeUpdate();
+            session.createMutationQuery("delete from Task").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public int createTasks() {
+        return sessionFactory.fromTransaction(session -> {
+            User user = session.getReference(User.class, userId);
+            for (CreateOneTimeTaskRequest request : requests) {
+                session.persist(taskFactory.createOneTimeTask(request, user));
+            }
+            return requests.size();
+        });
+    }
+}
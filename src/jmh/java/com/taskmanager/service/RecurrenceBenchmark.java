@@ -0,0 +1,54 @@
+package com.taskmanager.service;
+
+import com.taskmanager.benchmark.SyntheticData;
+import com.taskmanager.entity.RecurrencePattern;
+import com.taskmanager.entity.enums.RecurrenceFrequency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Occurrence expansion of {@link RecurringTaskService#calculateOccurrences} for
+ * every frequency, at the size used when instances are generated and at a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    @Param({"DAILY", "WEEKLY", "BIWEEKLY", "MONTHLY", "YEARLY"})
+    private RecurrenceFrequency frequency;
+
+    @Param({"30", "365"})
+    private int maxOccurrences;
+
+    private RecurringTaskService recurringTaskService;
+    private RecurrencePattern pattern;
+
+    @Setup
+    public void setUp() {
+        recurringTaskService = new RecurringTaskService(null, null, null, null, null, null);
+        pattern = SyntheticData.pattern(frequency, LocalDate.of(2024, 1, 1));
+        pattern.setEndDate(LocalDate.of(2034, 1, 1));
+    }
+
+    @Benchmark
+    public List<LocalDate> calculateOccurrences() {
+        return recurringTaskService.calculateOccurrences(pattern, maxOccurrences);
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskmanager.service;
+
+import com.taskmanager.benchmark.SyntheticData;
+import com.taskmanager.entity.OneTimeTask;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of task lists as returned by the task endpoints, and the
+ * overdue check every mapped task goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private TaskService taskService;
+    private List<OneTimeTask> tasks;
+    private List<TaskInstance> instances;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches no collaborators
+        taskService = new TaskService(null, null, null, null, null, null, null, null, null, null, null);
+        SyntheticData data = new SyntheticData(42);
+        LocalDate today = LocalDate.now();
+        tasks = data.oneTimeTasks(size, today.minusDays(15), today.plusDays(15));
+        instances = SyntheticData.instancesOf(data.recurringTasks(size / 10, today.minusDays(15), today.plusDays(15)));
+    }
+
+    @Benchmark
+    public void mapToDTO(Blackhole blackhole) {
+        for (OneTimeTask task : tasks) {
+            blackhole.consume(taskService.mapToDTO(task));
+        }
+    }
+
+    @Benchmark
+    public void mapInstanceToDTO(Blackhole blackhole) {
+        for (TaskInstance instance : instances) {
+            blackhole.consume(taskService.mapInstanceToDTO(instance));
+        }
+    }
+
+    @Benchmark
+    public int isOverdue() {
+        int overdue = 0;
+        for (Task task : tasks) {
+            if (task.isOverdue()) {
+                overdue++;
+            }
+        }
+        return overdue;
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmanager.strategy;
+
+import com.taskmanager.benchmark.SyntheticData;
+import com.taskmanager.dto.calendar.CalendarViewDTO;
+import com.taskmanager.entity.OneTimeTask;
+import com.taskmanager.entity.TaskInstance;
+import com.taskmanager.repository.TaskInstanceRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The three calendar strategies over synthetic tasks, with the repositories
+ * replaced by in-memory stubs so only view generation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarViewBenchmark {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 3, 12);
+
+    @Param({"DAILY", "WEEKLY", "MONTHLY"})
+    private String viewType;
+
+    @Param({"20", "200"})
+    private int tasksPerDay;
+
+    private CalendarViewStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        LocalDate from = REFERENCE_DATE.withDayOfMonth(1).minusDays(7);
+        LocalDate to = REFERENCE_DATE.withDayOfMonth(REFERENCE_DATE.lengthOfMonth()).plusDays(7);
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        List<OneTimeTask> tasks = data.oneTimeTasks(tasksPerDay * days / 2, from, to);
+        List<TaskInstance> instances = SyntheticData.instancesOf(data.recurringTasks(tasksPerDay, from, to));
+
+        TaskRepository taskRepository = stub(TaskRepository.class, args -> tasks.stream()
+                .filter(inRange(args, OneTimeTask::getDueDate))
+                .map(task -> (Object) task)
+                .toList());
+        TaskInstanceRepository taskInstanceRepository = stub(TaskInstanceRepository.class, args -> instances.stream()
+                .filter(inRange(args, TaskInstance::getScheduledDate))
+                .map(instance -> (Object) instance)
+                .toList());
+
+        strategy = switch (viewType) {
+            case "DAILY" -> new DailyCalendarView(taskRepository, taskInstanceRepository);
+            case "WEEKLY" -> new WeeklyCalendarView(taskRepository, taskInstanceRepository);
+            default -> new MonthlyCalendarView(taskRepository, taskInstanceRepository);
+        };
+    }
+
+    @Benchmark
+    public CalendarViewDTO generateView() {
+        return strategy.generateView(1L, REFERENCE_DATE);
+    }
+
+    /**
+     * Matches the (userId, date) and (userId, from, to) finder signatures.
+     */
+    private static <T> Predicate<T> inRange(Object[] args, Function<T, LocalDate> date) {
+        LocalDate from = (LocalDate) args[1];
+        LocalDate to = args.length > 2 ? (LocalDate) args[2] : from;
+        return item -> !date.apply(item).isBefore(from) && !date.apply(item).isAfter(to);
+    }
+
+    /**
+     * A repository whose finders all answer with the given query; the strategies
+     * only call date-range finders.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R stub(Class<R> repository, Function<Object[], List<Object>> query) {
+        return (R) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("find")) {
+                        return query.apply(args);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> repository.getSimpleName() + " stub";
+                        };
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
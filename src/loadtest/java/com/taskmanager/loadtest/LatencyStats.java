@@ -0,0 +1,75 @@
+package com.taskmanager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one endpoint. Not thread-safe: every driver thread records
+ * into its own instances, which are merged once the run is over.
+ */
+final class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+    private long notModified;
+    private boolean sorted;
+
+    void record(long nanos, int status) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        sorted = false;
+        if (status == 304) {
+            notModified++;
+        } else if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyStats other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(size + other.size, samples.length * 2));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        notModified += other.notModified;
+        sorted = false;
+    }
+
+    long count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long notModified() {
+        return notModified;
+    }
+
+    double meanMillis() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += samples[i];
+        }
+        return size == 0 ? 0 : total / (size * 1e6);
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds.
+     */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        return samples[Math.max(0, Math.min(size - 1, rank - 1))] / 1e6;
+    }
+}
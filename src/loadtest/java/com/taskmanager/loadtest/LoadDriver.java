@@ -0,0 +1,307 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load driver for the REST API.
+ * <p>
+ * Logs in the users created by {@link SyntheticDataGenerator}, then runs one
+ * thread per virtual user that replays a weighted mix of calendar views, today's
+ * tasks, task filters, task completions and notification polls until the run
+ * ends. Throughput and latency percentiles are reported per endpoint; requests
+ * made during the warm-up are not counted.
+ *
+ * <pre>
+ * --base-url   default http://localhost:8080/api/v1
+ * --users      accounts to log in as (default 50)
+ * --threads    concurrent virtual users (default: one per account)
+ * --duration   measured seconds (default 60)
+ * --warmup     seconds before measuring starts (default 10)
+ * --think-ms   pause between requests of one virtual user (default 0)
+ * --mix        weights, default calendar=30,today=25,filter=15,complete=10,notifications=20
+ * --etags      revalidate GETs with If-None-Match like a caching client
+ * --password   password of the generated users (default loadtest)
+ * --seed       random seed (default 42)
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX = "calendar=30,today=25,filter=15,complete=10,notifications=20";
+    private static final String[] CALENDAR_VIEWS = {"daily", "daily", "daily", "weekly", "weekly", "monthly"};
+
+    enum Operation { CALENDAR, TODAY, FILTER, COMPLETE, NOTIFICATIONS }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final boolean etags;
+
+    private LoadDriver(String baseUrl, boolean etags) {
+        this.baseUrl = baseUrl;
+        this.etags = etags;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        int users = options.getInt("users", 50);
+        int threads = options.getInt("threads", users);
+        long warmupNanos = Duration.ofSeconds(options.getLong("warmup", 10)).toNanos();
+        long durationNanos = Duration.ofSeconds(options.getLong("duration", 60)).toNanos();
+        long thinkMillis = options.getLong("think-ms", 0);
+        long seed = options.getLong("seed", 42);
+        Map<Operation, Integer> mix = parseMix(options.get("mix", DEFAULT_MIX));
+
+        LoadDriver driver = new LoadDriver(options.get("base-url", "http://localhost:8080/api/v1"), options.has("etags"));
+        List<Session> sessions = driver.login(users, options.get("password", SyntheticDataGenerator.DEFAULT_PASSWORD));
+        System.out.printf("Logged in %d users, running %d threads for %ds after %ds warm-up%n",
+                sessions.size(), threads, durationNanos / 1_000_000_000L, warmupNanos / 1_000_000_000L);
+
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long measureUntil = measureFrom + durationNanos;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, LatencyStats>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Session session = sessions.get(i % sessions.size());
+            Random random = new Random(seed + i);
+            results.add(executor.submit(() ->
+                    driver.run(session, random, mix, thinkMillis, measureFrom, measureUntil)));
+        }
+
+        Map<String, LatencyStats> total = new TreeMap<>();
+        for (Future<Map<String, LatencyStats>> result : results) {
+            result.get().forEach((endpoint, stats) ->
+                    total.computeIfAbsent(endpoint, e -> new LatencyStats()).merge(stats));
+        }
+        executor.shutdown();
+        report(total, durationNanos / 1e9);
+    }
+
+    private List<Session> login(int users, String password) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(users, 16));
+        try {
+            List<Future<Session>> logins = new ArrayList<>();
+            for (int n = 0; n < users; n++) {
+                String email = String.format(SyntheticDataGenerator.EMAIL_FORMAT, n);
+                logins.add(executor.submit(() -> {
+                    HttpResponse<String> response = send(null, "POST", "/auth/login",
+                            Map.of("email", email, "password", password));
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Login failed for " + email + ": HTTP " + response.statusCode());
+                    }
+                    Session session = new Session(objectMapper.readTree(response.body())
+                            .path("data").path("accessToken").asText());
+                    refillOpenTasks(session);
+                    return session;
+                }));
+            }
+            List<Session> sessions = new ArrayList<>();
+            for (Future<Session> login : logins) {
+                sessions.add(login.get());
+            }
+            return sessions;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Map<String, LatencyStats> run(Session session, Random random, Map<Operation, Integer> mix,
+                                          long thinkMillis, long measureFrom, long measureUntil) throws Exception {
+        Map<String, LatencyStats> stats = new LinkedHashMap<>();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < measureUntil) {
+            Call call = next(session, pick(mix, totalWeight, random), random);
+            long started = System.nanoTime();
+            int status;
+            try {
+                HttpResponse<String> response = send(session, call.method, call.path, call.body);
+                status = response.statusCode();
+                if (call.refill && status == 200) {
+                    collectOpenTasks(session, response.body());
+                }
+            } catch (IOException e) {
+                status = -1;
+            }
+            if (started >= measureFrom) {
+                stats.computeIfAbsent(call.endpoint, e -> new LatencyStats()).record(System.nanoTime() - started, status);
+            }
+            if (thinkMillis > 0) {
+                Thread.sleep(thinkMillis);
+            }
+        }
+        return stats;
+    }
+
+    private Call next(Session session, Operation operation, Random random) {
+        LocalDate today = LocalDate.now();
+        switch (operation) {
+            case CALENDAR -> {
+                String view = CALENDAR_VIEWS[random.nextInt(CALENDAR_VIEWS.length)];
+                return new Call("GET", "/calendar/" + view + "?date=" + today.plusDays(random.nextInt(15) - 7),
+                        "GET /calendar/" + view, null);
+            }
+            case TODAY -> {
+                return new Call("GET", "/tasks/today", "GET /tasks/today", null);
+            }
+            case FILTER -> {
+                Map<String, Object> filter = new LinkedHashMap<>();
+                if (random.nextBoolean()) {
+                    filter.put("priorities", random.nextBoolean() ? List.of("A") : List.of("A", "B"));
+                }
+                filter.put("statuses", List.of("NOT_STARTED", "IN_PROGRESS"));
+                if (random.nextBoolean()) {
+                    filter.put("dueDateFrom", today.minusDays(7).toString());
+                    filter.put("dueDateTo", today.plusDays(7 + random.nextInt(21)).toString());
+                }
+                filter.put("sortBy", random.nextBoolean() ? "dueDate" : "priority");
+                return new Call("POST", "/tasks/filter", "POST /tasks/filter", filter);
+            }
+            case COMPLETE -> {
+                Long taskId = session.openTaskIds.pollFirst();
+                if (taskId == null) {
+                    // Used up; look for open tasks like the client would before completing one
+                    Call refill = new Call("POST", "/tasks/filter", "POST /tasks/filter",
+                            Map.of("statuses", List.of("NOT_STARTED", "IN_PROGRESS")));
+                    refill.refill = true;
+                    return refill;
+                }
+                return new Call("POST", "/tasks/" + taskId + "/complete", "POST /tasks/{id}/complete", null);
+            }
+            default -> {
+                return new Call("GET", "/notifications/count", "GET /notifications/count", null);
+            }
+        }
+    }
+
+    private void refillOpenTasks(Session session) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(session, "POST", "/tasks/filter",
+                Map.of("statuses", List.of("NOT_STARTED", "IN_PROGRESS")));
+        if (response.statusCode() == 200) {
+            collectOpenTasks(session, response.body());
+        }
+    }
+
+    private void collectOpenTasks(Session session, String body) throws IOException {
+        for (JsonNode task : objectMapper.readTree(body).path("data")) {
+            if ("ONE_TIME".equals(task.path("taskType").asText())) {
+                session.openTaskIds.add(task.path("id").asLong());
+            }
+        }
+    }
+
+    private HttpResponse<String> send(Session session, String method, String path, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (session != null) {
+            request.header("Authorization", "Bearer " + session.token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        boolean revalidate = etags && session != null && method.equals("GET");
+        if (revalidate && session.etags.containsKey(path)) {
+            request.header("If-None-Match", session.etags.get(path));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (revalidate && response.statusCode() == 200) {
+            response.headers().firstValue("ETag").ifPresent(etag -> session.etags.put(path, etag));
+        }
+        return response;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int totalWeight, Random random) {
+        int slot = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            slot -= entry.getValue();
+            if (slot < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix needs at least one positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static void report(Map<String, LatencyStats> stats, double seconds) {
+        LatencyStats all = new LatencyStats();
+        System.out.printf("%n%-28s %9s %7s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "errors", "304", "req/s", "mean ms", "p50", "p90", "p99", "max");
+        for (Map.Entry<String, LatencyStats> entry : stats.entrySet()) {
+            printRow(entry.getKey(), entry.getValue(), seconds);
+            all.merge(entry.getValue());
+        }
+        printRow("total", all, seconds);
+    }
+
+    private static void printRow(String endpoint, LatencyStats stats, double seconds) {
+        System.out.printf("%-28s %9d %7d %7d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                endpoint, stats.count(), stats.errors(), stats.notModified(), stats.count() / seconds,
+                stats.meanMillis(), stats.percentileMillis(50), stats.percentileMillis(90),
+                stats.percentileMillis(99), stats.percentileMillis(100));
+    }
+
+    private static final class Session {
+        private final String token;
+        private final Deque<Long> openTaskIds = new ConcurrentLinkedDeque<>();
+        private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+        private Session(String token) {
+            this.token = token;
+        }
+    }
+
+    private static final class Call {
+        private final String method;
+        private final String path;
+        private final String endpoint;
+        private final Object body;
+        private boolean refill;
+
+        private Call(String method, String path, String endpoint, Object body) {
+            this.method = method;
+            this.path = path;
+            this.endpoint = endpoint;
+            this.body = body;
+        }
+    }
+}
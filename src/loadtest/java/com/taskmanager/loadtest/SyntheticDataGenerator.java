@@ -0,0 +1,416 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.entity.*;
+import com.taskmanager.entity.enums.NotificationType;
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.RecurrenceFrequency;
+import com.taskmanager.entity.enums.TaskStatus;
+import com.taskmanager.service.RecurringTaskService;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds a database with synthetic tenants for load testing.
+ * <p>
+ * Every user gets projects, one-time tasks spread around today, recurring tasks
+ * with a realistic frequency mix and their instances, reminders and a notification
+ * history. Rows are written with batched JDBC; ids are taken from the same pooled
+ * sequences Hibernate uses, so the application can keep inserting afterwards.
+ * Users are named {@code loadtest-<n>@example.com}; re-running appends new users
+ * after the existing ones. The same seed always yields the same data.
+ * <p>
+ * The schema must exist, e.g. from starting the application once against the
+ * database. {@code --create-schema} creates it from the entity mappings instead,
+ * which makes an H2 file database usable for trying out the generator.
+ *
+ * <pre>
+ * --jdbc-url                 default jdbc:postgresql://localhost:5432/taskmanager?reWriteBatchedInserts=true
+ * --db-user / --db-password  default postgres / postgres
+ * --users                    tenants to create (default 100)
+ * --projects                 projects per user (default 5)
+ * --one-time-tasks           one-time tasks per user (default 200)
+ * --recurring-tasks          recurring tasks per user (default 20)
+ * --reminders                reminders per upcoming one-time task (default 1)
+ * --notifications            notifications per user (default 50)
+ * --days-back / --days-ahead spread of due dates around today (default 60 / 60)
+ * --password                 login password of every user (default loadtest)
+ * --batch-size               JDBC batch size (default 500)
+ * --seed                     random seed (default 42)
+ * --create-schema            create missing tables first
+ * </pre>
+ */
+public final class SyntheticDataGenerator {
+
+    static final String EMAIL_FORMAT = "loadtest-%d@example.com";
+    static final String DEFAULT_PASSWORD = "loadtest";
+
+    // Matches the allocationSize of the @SequenceGenerator on every entity
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            User.class, NotificationPreferences.class, Context.class, Project.class, Task.class,
+            OneTimeTask.class, RecurringTask.class, RecurrencePattern.class, TaskInstance.class,
+            Reminder.class, TaskComment.class, Notification.class, NotificationOutbox.class,
+            DeadLetterMail.class, AuditLog.class, ChangeLogEntry.class, UserChangeSequence.class);
+
+    private static final int[] REMINDER_LEAD_MINUTES = {15, 60, 1440};
+
+    private final Connection connection;
+    private final Options options;
+    private final String passwordHash;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+    private final RecurringTaskService recurrence = new RecurringTaskService(null, null, null, null, null, null);
+    private final Map<String, IdBlock> ids = new HashMap<>();
+    private final Map<String, Batch> batches = new LinkedHashMap<>();
+    private final int batchSize;
+    private long rows;
+
+    private SyntheticDataGenerator(Connection connection, Options options) throws SQLException {
+        this.connection = connection;
+        this.options = options;
+        this.passwordHash = new BCryptPasswordEncoder().encode(options.get("password", DEFAULT_PASSWORD));
+        this.batchSize = options.getInt("batch-size", 500);
+
+        // Flushed in this order, so foreign keys always point at rows already sent
+        batch("users", "INSERT INTO users (id, email, password, first_name, last_name, created_at, updated_at, "
+                + "enabled) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        batch("notification_preferences", "INSERT INTO notification_preferences (id, user_id, email_enabled, "
+                + "popup_enabled, daily_digest_enabled, reminder_lead_time_minutes, overdue_notifications_enabled) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+        batch("projects", "INSERT INTO projects (id, user_id, name, description, start_date, due_date, archived, "
+                + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        batch("recurrence_patterns", "INSERT INTO recurrence_patterns (id, frequency, interval, day_of_month, "
+                + "start_date, end_date) VALUES (?, ?, ?, ?, ?, ?)");
+        batch("recurrence_days", "INSERT INTO recurrence_days (pattern_id, day_of_week) VALUES (?, ?)");
+        batch("tasks", "INSERT INTO tasks (id, task_type, user_id, project_id, recurrence_pattern_id, title, "
+                + "description, priority, status, due_date, due_time, estimated_duration, completed_at, created_at, "
+                + "updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        batch("task_instances", "INSERT INTO task_instances (id, recurring_task_id, scheduled_date, scheduled_time, "
+                + "status, completed_at, created_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)");
+        batch("reminders", "INSERT INTO reminders (id, task_id, remind_at, lead_time_minutes, notification_type, "
+                + "sent, sent_at, acknowledged, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, false, ?)");
+        batch("notifications", "INSERT INTO notifications (id, user_id, task_id, title, message, type, read, "
+                + "read_at, coalesced_count, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 1, ?)");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String url = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/taskmanager?reWriteBatchedInserts=true");
+        String user = options.get("db-user", "postgres");
+        String password = options.get("db-password", "postgres");
+        if (options.has("create-schema")) {
+            createSchema(url, user, password);
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            new SyntheticDataGenerator(connection, options).run();
+        }
+    }
+
+    private void run() throws SQLException {
+        int users = options.getInt("users", 100);
+        int firstUser = countExistingUsers();
+        Random seeds = new Random(options.getLong("seed", 42));
+        for (int i = 0; i < firstUser; i++) {
+            seeds.nextLong(); // keep user n identical no matter how many runs created it
+        }
+
+        long started = System.nanoTime();
+        for (int n = firstUser; n < firstUser + users; n++) {
+            generateUser(n, new Random(seeds.nextLong()));
+            if (batches.values().stream().anyMatch(batch -> batch.pending >= batchSize)) {
+                flush();
+            }
+        }
+        flush();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Created users %d..%d: %d rows in %.1f s (%.0f rows/s)%n",
+                firstUser, firstUser + users - 1, rows, seconds, rows / seconds);
+    }
+
+    private int countExistingUsers() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM users WHERE email LIKE 'loadtest-%@example.com'");
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+
+    private void generateUser(int n, Random random) throws SQLException {
+        long userId = nextId("users");
+        add("users", userId, String.format(EMAIL_FORMAT, n), passwordHash, "Load", "Tester " + n,
+                timestamp(now.minusDays(options.getInt("days-back", 60))), timestamp(now), true);
+        // Email stays off so a load test never hands real mail to the SMTP server
+        add("notification_preferences", nextId("notification_preferences"), userId, false, true, false, 30, true);
+
+        List<Long> projectIds = new ArrayList<>();
+        for (int i = 0; i < options.getInt("projects", 5); i++) {
+            long projectId = nextId("projects");
+            LocalDate start = today.minusDays(random.nextInt(90));
+            add("projects", projectId, userId, "Project " + i, "Synthetic project " + i, start,
+                    random.nextInt(3) == 0 ? null : start.plusDays(30 + random.nextInt(120)),
+                    random.nextInt(10) == 0, timestamp(start.atStartOfDay()), timestamp(now));
+            projectIds.add(projectId);
+        }
+
+        List<Long> taskIds = new ArrayList<>();
+        int daysBack = options.getInt("days-back", 60);
+        int daysAhead = options.getInt("days-ahead", 60);
+        for (int i = 0; i < options.getInt("one-time-tasks", 200); i++) {
+            taskIds.add(generateOneTimeTask(i, userId, projectIds, random, daysBack, daysAhead));
+        }
+        for (int i = 0; i < options.getInt("recurring-tasks", 20); i++) {
+            taskIds.add(generateRecurringTask(i, userId, projectIds, random, daysBack, daysAhead));
+        }
+
+        for (int i = 0; i < options.getInt("notifications", 50); i++) {
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(daysBack * 24 * 60 + 1));
+            boolean read = random.nextInt(10) < 7;
+            add("notifications", nextId("notifications"), userId,
+                    taskIds.isEmpty() ? null : taskIds.get(random.nextInt(taskIds.size())),
+                    "Task Reminder", "Synthetic reminder " + i, NotificationType.POPUP.name(), read,
+                    read ? timestamp(createdAt.plusMinutes(random.nextInt(600))) : null, timestamp(createdAt));
+        }
+    }
+
+    private long generateOneTimeTask(int i, long userId, List<Long> projectIds, Random random,
+                                     int daysBack, int daysAhead) throws SQLException {
+        long taskId = nextId("tasks");
+        LocalDate dueDate = random.nextInt(10) == 0 ? null : today.plusDays(random.nextInt(daysBack + daysAhead + 1) - daysBack);
+        LocalTime dueTime = dueDate != null && random.nextBoolean() ? LocalTime.of(8 + random.nextInt(11), 15 * random.nextInt(4)) : null;
+        boolean past = dueDate != null && dueDate.isBefore(today);
+        TaskStatus status = status(random, past);
+        LocalDateTime createdAt = (dueDate != null ? dueDate.atStartOfDay() : now).minusDays(1 + random.nextInt(30));
+
+        add("tasks", taskId, "ONE_TIME", userId, project(projectIds, random, 7), null, "Task " + i,
+                random.nextBoolean() ? "Synthetic task " + i : null, priority(random).name(), status.name(), dueDate, dueTime,
+                15 * (1 + random.nextInt(8)), status == TaskStatus.COMPLETED ? timestamp(completedAt(dueDate, createdAt)) : null,
+                timestamp(createdAt), timestamp(createdAt));
+
+        if (dueDate != null && !past && status != TaskStatus.COMPLETED) {
+            LocalDateTime due = dueDate.atTime(dueTime != null ? dueTime : LocalTime.of(9, 0));
+            for (int r = 0; r < options.getInt("reminders", 1); r++) {
+                int lead = REMINDER_LEAD_MINUTES[r % REMINDER_LEAD_MINUTES.length];
+                LocalDateTime remindAt = due.minusMinutes(lead);
+                boolean sent = remindAt.isBefore(now);
+                add("reminders", nextId("reminders"), taskId, timestamp(remindAt), lead, NotificationType.POPUP.name(),
+                        sent, sent ? timestamp(remindAt) : null, timestamp(createdAt));
+            }
+        }
+        return taskId;
+    }
+
+    private long generateRecurringTask(int i, long userId, List<Long> projectIds, Random random,
+                                       int daysBack, int daysAhead) throws SQLException {
+        RecurrencePattern pattern = pattern(frequencyMix(random), today.minusDays(random.nextInt(daysBack + 1)));
+        long patternId = nextId("recurrence_patterns");
+        add("recurrence_patterns", patternId, pattern.getFrequency().name(), pattern.getInterval(),
+                pattern.getDayOfMonth(), pattern.getStartDate(), pattern.getEndDate());
+        if (pattern.getDaysOfWeek() != null) {
+            for (DayOfWeek day : pattern.getDaysOfWeek()) {
+                add("recurrence_days", patternId, day.name());
+            }
+        }
+
+        long taskId = nextId("tasks");
+        LocalTime time = LocalTime.of(7 + random.nextInt(12), 30);
+        LocalDateTime createdAt = pattern.getStartDate().atStartOfDay().minusDays(1);
+        add("tasks", taskId, "RECURRING", userId, project(projectIds, random, 5), patternId, "Routine " + i, null,
+                priority(random).name(), TaskStatus.NOT_STARTED.name(), null, time, 30, null,
+                timestamp(createdAt), timestamp(createdAt));
+
+        LocalDate horizon = today.plusDays(Math.min(daysAhead, 30));
+        for (LocalDate date : recurrence.calculateOccurrences(pattern, daysBack + daysAhead + 1)) {
+            if (date.isAfter(horizon)) {
+                break;
+            }
+            TaskStatus status = date.isBefore(today)
+                    ? (random.nextInt(4) == 0 ? TaskStatus.NOT_STARTED : TaskStatus.COMPLETED)
+                    : TaskStatus.NOT_STARTED;
+            add("task_instances", nextId("task_instances"), taskId, date, time, status.name(),
+                    status == TaskStatus.COMPLETED ? timestamp(date.atTime(time).plusMinutes(random.nextInt(120))) : null,
+                    timestamp(createdAt));
+        }
+        return taskId;
+    }
+
+    private static RecurrencePattern pattern(RecurrenceFrequency frequency, LocalDate startDate) {
+        RecurrencePattern.RecurrencePatternBuilder pattern = RecurrencePattern.builder()
+                .frequency(frequency)
+                .interval(1)
+                .startDate(startDate);
+        switch (frequency) {
+            case WEEKLY -> pattern.daysOfWeek(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY));
+            case BIWEEKLY -> pattern.daysOfWeek(Set.of(startDate.getDayOfWeek())).interval(2);
+            case MONTHLY -> pattern.dayOfMonth(startDate.getDayOfMonth());
+            default -> {
+            }
+        }
+        return pattern.build();
+    }
+
+    /**
+     * Mostly daily and weekly routines, like real users set up.
+     */
+    private static RecurrenceFrequency frequencyMix(Random random) {
+        int slot = random.nextInt(10);
+        if (slot < 4) {
+            return RecurrenceFrequency.DAILY;
+        }
+        if (slot < 7) {
+            return RecurrenceFrequency.WEEKLY;
+        }
+        if (slot < 8) {
+            return RecurrenceFrequency.BIWEEKLY;
+        }
+        return slot < 9 ? RecurrenceFrequency.MONTHLY : RecurrenceFrequency.YEARLY;
+    }
+
+    private static Priority priority(Random random) {
+        int slot = random.nextInt(10);
+        return slot < 2 ? Priority.A : slot < 5 ? Priority.B : slot < 9 ? Priority.C : Priority.D;
+    }
+
+    private static TaskStatus status(Random random, boolean past) {
+        int slot = random.nextInt(20);
+        if (past) {
+            return slot < 14 ? TaskStatus.COMPLETED : slot < 18 ? TaskStatus.NOT_STARTED : TaskStatus.IN_PROGRESS;
+        }
+        return slot < 16 ? TaskStatus.NOT_STARTED : slot < 19 ? TaskStatus.IN_PROGRESS : TaskStatus.COMPLETED;
+    }
+
+    private LocalDateTime completedAt(LocalDate dueDate, LocalDateTime createdAt) {
+        LocalDateTime completedAt = dueDate != null ? dueDate.atTime(17, 0) : createdAt.plusDays(1);
+        return completedAt.isAfter(now) ? now : completedAt;
+    }
+
+    private static Long project(List<Long> projectIds, Random random, int outOfTen) {
+        return projectIds.isEmpty() || random.nextInt(10) >= outOfTen
+                ? null
+                : projectIds.get(random.nextInt(projectIds.size()));
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return Timestamp.valueOf(value);
+    }
+
+    private void batch(String table, String sql) throws SQLException {
+        batches.put(table, new Batch(connection.prepareStatement(sql)));
+    }
+
+    private void add(String table, Object... values) throws SQLException {
+        PreparedStatement statement = batches.get(table).statement;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                statement.setNull(i + 1, Types.NULL);
+            } else if (value instanceof LocalDate date) {
+                statement.setObject(i + 1, date);
+            } else if (value instanceof LocalTime time) {
+                statement.setObject(i + 1, time);
+            } else {
+                statement.setObject(i + 1, value);
+            }
+        }
+        statement.addBatch();
+        batches.get(table).pending++;
+        rows++;
+    }
+
+    private void flush() throws SQLException {
+        for (Batch batch : batches.values()) {
+            if (batch.pending > 0) {
+                batch.statement.executeBatch();
+                batch.pending = 0;
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Takes ids the way Hibernate's pooled optimizer does: each sequence value
+     * reserves the {@value #ALLOCATION_SIZE} ids up to and including it.
+     */
+    private long nextId(String table) throws SQLException {
+        IdBlock block = ids.computeIfAbsent(table, t -> new IdBlock());
+        if (block.next > block.last) {
+            long value = nextSequenceValue(table + "_seq");
+            block.next = Math.max(1, value - ALLOCATION_SIZE + 1);
+            block.last = value;
+        }
+        return block.next++;
+    }
+
+    private long nextSequenceValue(String sequence) throws SQLException {
+        String sql = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")
+                ? "SELECT nextval('" + sequence + "')"
+                : "SELECT NEXT VALUE FOR " + sequence;
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    /**
+     * Creates missing tables from the entity mappings, named the way Spring Boot
+     * names them for the application.
+     */
+    @SuppressWarnings("deprecation") // native bootstrap only reads the hibernate.connection.* keys
+    private static void createSchema(String url, String user, String password) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, url)
+                .applySetting(AvailableSettings.USER, user)
+                .applySetting(AvailableSettings.PASS, password)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "update")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, new SpringImplicitNamingStrategy())
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        ENTITIES.forEach(sources::addAnnotatedClass);
+        sources.buildMetadata().buildSessionFactory().close();
+    }
+
+    private static final class Batch {
+        private final PreparedStatement statement;
+        private int pending;
+
+        private Batch(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    private static final class IdBlock {
+        private long next = 1;
+        private long last;
+    }
+}
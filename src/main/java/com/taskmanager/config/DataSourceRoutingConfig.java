@@ -0,0 +1,119 @@
+package com.taskmanager.config;
+
+import com.taskmanager.datasource.RecentWrites;
+import com.taskmanager.datasource.ReplicaLagMonitor;
+import com.taskmanager.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Additional connection pools, enabled with
+ * {@code application.datasource.scheduler.enabled} and/or
+ * {@code application.datasource.replica.enabled}.
+ * <p>
+ * Replaces the auto-configured data source with a {@code primary} pool from
+ * {@code spring.datasource.*}, plus a {@code scheduler} pool for background
+ * work and a {@code replica} pool for read-only transactions, each configured
+ * under {@code application.datasource.<name>.hikari}, behind a
+ * {@link RoutingDataSource}. Without either property nothing changes and all
+ * SQL goes through the single auto-configured pool.
+ */
+@Configuration
+@Conditional(DataSourceRoutingConfig.RoutingEnabled.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.datasource.scheduler.enabled", havingValue = "true")
+    @ConfigurationProperties("application.datasource.scheduler.hikari")
+    public HikariDataSource schedulerDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("scheduler");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.datasource.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("application.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${application.datasource.replica.url}") String url,
+                                              @Value("${application.datasource.replica.username:}") String username,
+                                              @Value("${application.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isBlank() ? properties.determineUsername() : username)
+                .password(password.isBlank() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.datasource.replica.enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               RecentWrites recentWrites,
+                                               MeterRegistry registry,
+                                               @Value("${application.datasource.replica.lag-query}") String lagQuery,
+                                               @Value("${application.datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+                                               @Value("${application.datasource.replica.lag-check-interval-ms:1000}") long checkIntervalMillis) {
+        return new ReplicaLagMonitor(replicaDataSource, recentWrites, lagQuery, maxLagMillis, checkIntervalMillis,
+                registry);
+    }
+
+    /**
+     * The data source used by JPA and {@code JdbcTemplate}.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("schedulerDataSource") ObjectProvider<DataSource> schedulerDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                                 RecentWrites recentWrites,
+                                 MeterRegistry registry) {
+        RoutingDataSource routing = new RoutingDataSource(primaryDataSource, schedulerDataSource.getIfAvailable(),
+                replicaDataSource.getIfAvailable(), replicaLagMonitor.getIfAvailable(), recentWrites, registry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    static class RoutingEnabled extends AnyNestedCondition {
+
+        RoutingEnabled() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name = "application.datasource.scheduler.enabled", havingValue = "true")
+        static class SchedulerPool {
+        }
+
+        @ConditionalOnProperty(name = "application.datasource.replica.enabled", havingValue = "true")
+        static class ReplicaPool {
+        }
+    }
+}
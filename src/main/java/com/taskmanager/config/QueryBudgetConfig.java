@@ -0,0 +1,35 @@
+package com.taskmanager.config;
+
+import com.taskmanager.metrics.QueryCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source in a {@link QueryCountingDataSource} when
+ * {@code application.query-budget.enabled} is set. Off by default; meant for
+ * development, CI and load tests. Only the {@code dataSource} bean is wrapped,
+ * so the pools behind {@link DataSourceRoutingConfig} are not counted twice.
+ */
+@Configuration
+public class QueryBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("application.query-budget.enabled", Boolean.class, false);
+        long slowQueryMillis = environment.getProperty("application.query-budget.slow-query-ms", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource, slowQueryMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.taskmanager.config;
 
 import com.taskmanager.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,6 +25,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
@@ -31,9 +33,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final Set<String> UNAUTHENTICATED_MANAGEMENT_ENDPOINTS =
+            Set.of("/actuator/health", "/actuator/prometheus");
+
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
 
+    @Value("${management.server.port:8081}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -46,9 +54,12 @@ public class SecurityConfig {
                                 "/swagger-ui.html",
                                 "/api-docs/**",
                                 "/v3/api-docs/**",
-                                "/actuator/health",
                                 "/ws/**"
                         ).permitAll()
+                        // Health checks and metrics scrapes on the management port, not the API port
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && UNAUTHENTICATED_MANAGEMENT_ENDPOINTS.contains(request.getRequestURI())
+                        ).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -1,22 +1,75 @@
 package com.taskmanager.config;
 
+import com.taskmanager.websocket.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * STOMP over WebSocket configuration.
+ * <p>
+ * {@code application.websocket.broker.mode} selects the broker:
+ * <ul>
+ *   <li>{@code simple} (default) - in-memory broker, single node only</li>
+ *   <li>{@code relay} - external STOMP broker (e.g. RabbitMQ with the STOMP plugin).
+ *       User registries are shared across nodes through the broker, so a push from
+ *       any node reaches the user's session wherever it is connected.</li>
+ * </ul>
+ */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Value("${application.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${application.websocket.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${application.websocket.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${application.websocket.broker.login:guest}")
+    private String relayLogin;
+
+    @Value("${application.websocket.broker.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            log.info("Using STOMP broker relay at {}:{}", relayHost, relayPort);
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -0,0 +1,55 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.audit.AuditLogPageDTO;
+import com.taskmanager.dto.common.ApiResponse;
+import com.taskmanager.service.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/audit")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Audit Log", description = "Query the current user's audit trail")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @Operation(summary = "Get audit entries",
+            description = "Keyset pagination, newest first. The range defaults to the last 30 days. " +
+                    "Pass nextBeforeCreatedAt and nextBeforeId from the previous page to continue")
+    @GetMapping
+    public ResponseEntity<ApiResponse<AuditLogPageDTO>> getAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit) {
+        AuditLogPageDTO page = auditService.getAuditLogPage(entityType, entityId, from, to, beforeCreatedAt, beforeId, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @Operation(summary = "Export audit entries", description = "Streams all entries in the range as newline-delimited JSON")
+    @GetMapping("/export")
+    public void exportAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        auditService.exportAuditLogs(entityType, entityId, from, to, response.getOutputStream());
+    }
+}
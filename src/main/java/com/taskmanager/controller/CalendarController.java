@@ -3,6 +3,7 @@ package com.taskmanager.controller;
 import com.taskmanager.dto.calendar.CalendarViewDTO;
 import com.taskmanager.dto.common.ApiResponse;
 import com.taskmanager.service.CalendarService;
+import com.taskmanager.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +19,7 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Calendar", description = "Calendar view operations using Strategy Pattern")
+@ConditionalGet(value = {"Task", "TaskInstance", "Project", "Context"}, timeOfDay = true)
 public class CalendarController {
 
     private final CalendarService calendarService;
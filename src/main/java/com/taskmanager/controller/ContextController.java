@@ -4,6 +4,7 @@ import com.taskmanager.dto.common.ApiResponse;
 import com.taskmanager.dto.context.ContextDTO;
 import com.taskmanager.dto.context.CreateContextRequest;
 import com.taskmanager.service.ContextService;
+import com.taskmanager.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,6 +21,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Contexts", description = "Context tag management")
+@ConditionalGet({"Context", "Task"})
 public class ContextController {
 
     private final ContextService contextService;
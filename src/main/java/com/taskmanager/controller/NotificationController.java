@@ -2,14 +2,17 @@ package com.taskmanager.controller;
 
 import com.taskmanager.dto.common.ApiResponse;
 import com.taskmanager.dto.notification.NotificationDTO;
+import com.taskmanager.dto.notification.NotificationPageDTO;
 import com.taskmanager.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +32,17 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
 
+    @Operation(summary = "Get notification history page",
+            description = "Keyset pagination, newest first. Pass nextBeforeCreatedAt and nextBeforeId from the previous page to continue")
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<NotificationPageDTO>> getNotificationPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int limit) {
+        NotificationPageDTO page = notificationService.getNotificationPage(beforeCreatedAt, beforeId, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
     @Operation(summary = "Get unread notifications")
     @GetMapping("/unread")
     public ResponseEntity<ApiResponse<List<NotificationDTO>>> getUnreadNotifications() {
@@ -50,6 +64,21 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Notification acknowledged", notification));
     }
 
+    @Operation(summary = "Mark all notifications as read")
+    @PostMapping("/acknowledge-all")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> acknowledgeAll() {
+        int updated = notificationService.markAllAsRead();
+        return ResponseEntity.ok(ApiResponse.success("All notifications marked as read", Map.of("updated", updated)));
+    }
+
+    @Operation(summary = "Delete read notifications", description = "Deletes read notifications older than the given number of days")
+    @DeleteMapping("/read")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> deleteReadNotifications(
+            @RequestParam(defaultValue = "30") int olderThanDays) {
+        int deleted = notificationService.deleteReadOlderThan(olderThanDays);
+        return ResponseEntity.ok(ApiResponse.success("Read notifications deleted", Map.of("deleted", deleted)));
+    }
+
     @Operation(summary = "Delete notification")
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteNotification(@PathVariable Long id) {
@@ -4,12 +4,18 @@ import com.taskmanager.dto.common.ApiResponse;
 import com.taskmanager.dto.project.CreateProjectRequest;
 import com.taskmanager.dto.project.ProjectDTO;
 import com.taskmanager.dto.project.UpdateProjectRequest;
+import com.taskmanager.exception.ConflictException;
+import com.taskmanager.metrics.QueryBudget;
 import com.taskmanager.service.ProjectService;
+import com.taskmanager.web.ConditionalGet;
+import com.taskmanager.web.IfMatchResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,11 +27,14 @@ import java.util.List;
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Project Management", description = "Project CRUD operations")
+@ConditionalGet({"Project", "Task"})
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final IfMatchResolver ifMatchResolver;
 
     @Operation(summary = "Get all user projects")
+    @QueryBudget(10)
     @GetMapping
     public ResponseEntity<ApiResponse<List<ProjectDTO>>> getAllProjects() {
         List<ProjectDTO> projects = projectService.getAllProjects();
@@ -55,12 +64,22 @@ public class ProjectController {
                 .body(ApiResponse.success("Project created successfully", project));
     }
 
-    @Operation(summary = "Update project")
+    @Operation(summary = "Update project", description = "Send the project version or the ETag of the project "
+            + "listing as If-Match to reject the update with 409 and the current project when it was changed "
+            + "in the meantime")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ProjectDTO>> updateProject(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateProjectRequest request) {
-        ProjectDTO project = projectService.updateProject(id, request);
+        Long expectedVersion = ifMatchResolver.expectedVersion(ifMatch, "Project", id,
+                () -> projectService.getProjectById(id), ProjectDTO::getVersion);
+        ProjectDTO project;
+        try {
+            project = projectService.updateProject(id, request, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException("Project was modified concurrently", projectService.getProjectById(id));
+        }
         return ResponseEntity.ok(ApiResponse.success("Project updated successfully", project));
     }
 
@@ -0,0 +1,33 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.common.ApiResponse;
+import com.taskmanager.dto.stats.DashboardStatsDTO;
+import com.taskmanager.metrics.QueryBudget;
+import com.taskmanager.service.StatsService;
+import com.taskmanager.web.ConditionalGet;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Statistics", description = "Aggregated task statistics")
+@ConditionalGet({"Task", "TaskInstance"})
+public class StatsController {
+
+    private final StatsService statsService;
+
+    @Operation(summary = "Get task counts for the dashboard")
+    @QueryBudget(3)
+    @GetMapping("/dashboard")
+    public ResponseEntity<ApiResponse<DashboardStatsDTO>> getDashboardStats() {
+        return ResponseEntity.ok(ApiResponse.success(statsService.getDashboardStats()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.common.ApiResponse;
+import com.taskmanager.dto.sync.SyncResponseDTO;
+import com.taskmanager.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Sync", description = "Delta sync for clients that keep a local cache")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Operation(summary = "Get changes since a token",
+            description = "Without a token only the current token is returned; load data through the regular endpoints after obtaining it. " +
+                    "Returns records created or updated since the token plus ids of deleted records")
+    @GetMapping
+    public ResponseEntity<ApiResponse<SyncResponseDTO>> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(syncService.getChangesSince(since, limit)));
+    }
+}
@@ -3,28 +3,39 @@ package com.taskmanager.controller;
 import com.taskmanager.dto.common.ApiResponse;
 import com.taskmanager.dto.task.*;
 import com.taskmanager.entity.enums.TaskStatus;
+import com.taskmanager.exception.ConflictException;
+import com.taskmanager.metrics.QueryBudget;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.web.ConditionalGet;
+import com.taskmanager.web.IfMatchResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/tasks")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Task Management", description = "Task CRUD operations")
+@ConditionalGet(value = {"Task", "TaskInstance", "Project", "Context"}, timeOfDay = true)
 public class TaskController {
 
     private final TaskService taskService;
+    private final IfMatchResolver ifMatchResolver;
 
     @Operation(summary = "Get all tasks with optional filtering")
+    @QueryBudget(25)
     @GetMapping
     public ResponseEntity<ApiResponse<List<TaskDTO>>> getAllTasks() {
         List<TaskDTO> tasks = taskService.getAllTasks();
@@ -32,6 +43,7 @@ public class TaskController {
     }
 
     @Operation(summary = "Get today's tasks")
+    @QueryBudget(15)
     @GetMapping("/today")
     public ResponseEntity<ApiResponse<List<TaskDTO>>> getTodayTasks() {
         List<TaskDTO> tasks = taskService.getTasksForToday();
@@ -78,12 +90,30 @@ public class TaskController {
                 .body(ApiResponse.success("Recurring task created successfully", task));
     }
 
-    @Operation(summary = "Update task")
+    @Operation(summary = "Update task", description = "Send the task version or the ETag of the task listing "
+            + "as If-Match to reject the update with 409 and the current task when it was changed in the meantime")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TaskDTO>> updateTask(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateTaskRequest request) {
-        TaskDTO task = taskService.updateTask(id, request);
+        TaskDTO task;
+        try {
+            task = taskService.updateTask(id, request, expectedVersion(ifMatch, id));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException("Task was modified concurrently", taskService.getTaskById(id));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Task updated successfully", task));
+    }
+
+    @Operation(summary = "Partially update task", description = "JSON merge patch of the task's scalar fields, "
+            + "written with a single statement; null clears a field. Honours If-Match like the task update")
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<TaskDTO>> patchTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> patch) {
+        TaskDTO task = taskService.patchTask(id, patch, expectedVersion(ifMatch, id));
         return ResponseEntity.ok(ApiResponse.success("Task updated successfully", task));
     }
 
@@ -94,12 +124,13 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success("Task marked as complete", task));
     }
 
-    @Operation(summary = "Update task status")
+    @Operation(summary = "Update task status", description = "Honours If-Match like the task update")
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<TaskDTO>> updateTaskStatus(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam TaskStatus status) {
-        TaskDTO task = taskService.updateTaskStatus(id, status);
+        TaskDTO task = taskService.updateTaskStatus(id, status, expectedVersion(ifMatch, id));
         return ResponseEntity.ok(ApiResponse.success("Task status updated", task));
     }
 
@@ -124,12 +155,21 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
 
-    @Operation(summary = "Update task instance status (for recurring tasks)")
+    @Operation(summary = "Update task instance status (for recurring tasks)",
+            description = "Honours If-Match with the instance version like the task update")
     @PutMapping("/instance/{instanceId}/status")
     public ResponseEntity<ApiResponse<Void>> updateInstanceStatus(
             @PathVariable Long instanceId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam TaskStatus status) {
-        taskService.updateTaskInstanceStatus(instanceId, status);
+        Long expectedVersion = ifMatchResolver.expectedVersion(ifMatch, "TaskInstance", instanceId,
+                () -> taskService.getTaskInstance(instanceId), TaskDTO::getVersion);
+        taskService.updateTaskInstanceStatus(instanceId, status, expectedVersion);
         return ResponseEntity.ok(ApiResponse.success("Task instance status updated", null));
     }
+
+    private Long expectedVersion(String ifMatch, Long id) {
+        return ifMatchResolver.expectedVersion(ifMatch, "Task", id, () -> taskService.getTaskById(id),
+                TaskDTO::getVersion);
+    }
 }
@@ -0,0 +1,57 @@
+package com.taskmanager.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which users changed data recently, so their reads are kept on the
+ * primary until the replica has certainly caught up with their own writes.
+ * <p>
+ * Filled after commit by {@link com.taskmanager.service.ChangeFeedRecorder}.
+ * Kept per node: with several nodes, read-your-writes requires the load
+ * balancer to keep each user on one node; a read that lands on another node
+ * than the write is only bounded by {@code max-lag-ms}.
+ */
+@Component
+public class RecentWrites {
+
+    private final ConcurrentMap<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    @Value("${application.datasource.replica.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.datasource.replica.sticky-ms:5000}")
+    private long stickyMillis;
+
+    public void record(Long userId) {
+        if (enabled && userId != null) {
+            pinnedUntil.put(userId, System.currentTimeMillis() + stickyMillis);
+        }
+    }
+
+    /**
+     * Whether the user wrote within the last {@code sticky-ms}.
+     */
+    public boolean isPinned(Long userId) {
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until > System.currentTimeMillis()) {
+            return true;
+        }
+        pinnedUntil.remove(userId, until);
+        return false;
+    }
+
+    /**
+     * Forgets expired entries of users that did not read again after writing.
+     */
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+}
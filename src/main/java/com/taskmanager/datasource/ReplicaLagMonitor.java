@@ -0,0 +1,77 @@
+package com.taskmanager.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures how far the replica is behind the primary with {@code lag-query}
+ * and decides whether read-only transactions may use it. The replica is
+ * skipped while its lag exceeds {@code max-lag-ms}, while it cannot be
+ * reached, and when the last successful check is more than three intervals
+ * old. Exported as {@code taskmanager.datasource.replica.lag}.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final RecentWrites recentWrites;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+
+    private volatile long lagMillis = -1;
+    private volatile long checkedAt;
+    private volatile boolean reachable = true;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, RecentWrites recentWrites, String lagQuery,
+                             long maxLagMillis, long checkIntervalMillis, MeterRegistry registry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.recentWrites = recentWrites;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        Gauge.builder("taskmanager.datasource.replica.lag", this, monitor -> monitor.lagMillis / 1000.0)
+                .baseUnit("seconds")
+                .description("Replication lag of the read replica, -1 when unknown")
+                .register(registry);
+    }
+
+    /**
+     * Scheduled job to measure the replica lag.
+     */
+    @Scheduled(fixedDelayString = "${application.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0;
+            checkedAt = System.currentTimeMillis();
+            if (!reachable) {
+                log.info("Read replica is reachable again, lag {} ms", lagMillis);
+                reachable = true;
+            }
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            if (reachable) {
+                log.warn("Read replica unreachable, sending reads to the primary: {}", e.getMessage());
+                reachable = false;
+            }
+        }
+        recentWrites.evictExpired();
+    }
+
+    public boolean isUsable() {
+        return reachable
+                && lagMillis >= 0
+                && lagMillis <= maxLagMillis
+                && System.currentTimeMillis() - checkedAt <= 3 * checkIntervalMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskmanager.datasource;
+
+import com.taskmanager.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Picks the pool for each new connection.
+ * <ul>
+ *   <li>Threads that are not serving an HTTP request, i.e. scheduled jobs, the
+ *       reminder, mail and audit workers, use the {@code scheduler} pool when one
+ *       is configured, so a burst of background work cannot take the connections
+ *       requests are waiting for. Requests use the {@code primary} pool.</li>
+ *   <li>Read-only transactions use the {@code replica} pool when one is
+ *       configured, unless the replica is lagging or unreachable, see
+ *       {@link ReplicaLagMonitor}, or the current user wrote within
+ *       {@code sticky-ms}, see {@link RecentWrites}.</li>
+ * </ul>
+ * The decision uses the transaction's read-only flag, which Spring sets only
+ * after the transaction manager asked for a connection; wrap this in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so
+ * the connection is fetched on the first statement instead. Each decision is
+ * counted in {@code taskmanager.datasource.route}, tagged with the target pool
+ * and reason.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, SCHEDULER, REPLICA
+    }
+
+    private final boolean hasScheduler;
+    private final boolean hasReplica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWrites recentWrites;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Counter> routes = new ConcurrentHashMap<>();
+
+    /**
+     * @param scheduler  pool for background threads, or {@code null} to use the primary
+     * @param replica    pool for read-only transactions, or {@code null} to use the primary
+     * @param lagMonitor required with a replica
+     */
+    public RoutingDataSource(DataSource primary, DataSource scheduler, DataSource replica,
+                             ReplicaLagMonitor lagMonitor, RecentWrites recentWrites, MeterRegistry registry) {
+        this.hasScheduler = scheduler != null;
+        this.hasReplica = replica != null;
+        this.lagMonitor = lagMonitor;
+        this.recentWrites = recentWrites;
+        this.registry = registry;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Target.PRIMARY, primary);
+        if (scheduler != null) {
+            targets.put(Target.SCHEDULER, scheduler);
+        }
+        if (replica != null) {
+            targets.put(Target.REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target own = hasScheduler && RequestContextHolder.getRequestAttributes() == null
+                ? Target.SCHEDULER
+                : Target.PRIMARY;
+        if (!hasReplica
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(own, "write");
+        }
+        if (!lagMonitor.isUsable()) {
+            return route(own, "replica-lag");
+        }
+        Long userId = currentUserId();
+        if (userId != null && recentWrites.isPinned(userId)) {
+            return route(own, "read-your-writes");
+        }
+        return route(Target.REPLICA, "read");
+    }
+
+    private Target route(Target target, String reason) {
+        routes.computeIfAbsent(target + ":" + reason, key -> Counter.builder("taskmanager.datasource.route")
+                        .tag("target", target.name().toLowerCase())
+                        .tag("reason", reason)
+                        .register(registry))
+                .increment();
+        return target;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
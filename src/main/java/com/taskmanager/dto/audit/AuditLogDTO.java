@@ -0,0 +1,27 @@
+package com.taskmanager.dto.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogDTO {
+
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    private String action;
+    private String oldValues;
+    private String newValues;
+    private String changedFields;
+    private Long userId;
+    private String userEmail;
+    private LocalDateTime createdAt;
+    private String ipAddress;
+}
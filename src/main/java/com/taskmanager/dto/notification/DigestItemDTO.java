@@ -0,0 +1,24 @@
+package com.taskmanager.dto.notification;
+
+import com.taskmanager.entity.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One open task or recurring task instance included in a daily digest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DigestItemDTO {
+
+    private Long userId;
+    private String title;
+    private Priority priority;
+    private LocalDate date;
+    private LocalTime time;
+}
@@ -17,6 +17,7 @@ public class NotificationDTO {
     private String title;
     private String message;
     private String type;
+    private Integer coalescedCount;
     private boolean read;
     private LocalDateTime readAt;
     private LocalDateTime createdAt;
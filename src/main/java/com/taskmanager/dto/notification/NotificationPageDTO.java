@@ -0,0 +1,25 @@
+package com.taskmanager.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of notifications, newest first. Pass {@code nextBeforeCreatedAt} and
+ * {@code nextBeforeId} back to fetch the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDTO {
+
+    private List<NotificationDTO> items;
+    private boolean hasMore;
+    private LocalDateTime nextBeforeCreatedAt;
+    private Long nextBeforeId;
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.dto.notification;
+
+import com.taskmanager.entity.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user, type and title under which held-back notifications are coalesced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingGroupDTO {
+
+    private Long userId;
+    private NotificationType type;
+    private String title;
+}
@@ -25,4 +25,5 @@ public class ProjectDTO {
     private int completedTasks;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,33 @@
+package com.taskmanager.dto.stats;
+
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Task counts for the dashboard. One-time tasks and the recurring task
+ * instances scheduled up to today or completed this week are counted; the
+ * recurring tasks themselves are not.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsDTO {
+
+    private LocalDate date;
+    private long total;
+    private long pending;
+    private long completed;
+    private long overdue;
+    private long dueToday;
+    private long completedThisWeek;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Priority, Long> pendingByPriority;
+}
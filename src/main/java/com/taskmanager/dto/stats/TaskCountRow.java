@@ -0,0 +1,24 @@
+package com.taskmanager.dto.stats;
+
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One status and priority group of a user's tasks or task instances, with how
+ * many of them are overdue, due today and completed since the start of the week.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCountRow {
+
+    private TaskStatus status;
+    private Priority priority;
+    private Long count;
+    private Long overdue;
+    private Long dueToday;
+    private Long completedThisWeek;
+}
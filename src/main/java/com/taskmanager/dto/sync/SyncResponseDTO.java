@@ -0,0 +1,48 @@
+package com.taskmanager.dto.sync;
+
+import com.taskmanager.dto.context.ContextDTO;
+import com.taskmanager.dto.notification.NotificationDTO;
+import com.taskmanager.dto.project.ProjectDTO;
+import com.taskmanager.dto.task.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records changed since a sync token. Pass {@code token} as {@code since} on the
+ * next call; while {@code hasMore} is set, call again right away.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+
+    private String token;
+    private boolean hasMore;
+
+    /**
+     * Set when the token is too old to compute a delta; reload everything.
+     */
+    private boolean fullResyncRequired;
+
+    /**
+     * Entity types changed by bulk operations; reload these collections.
+     */
+    private List<String> reload;
+
+    private List<TaskDTO> tasks;
+    private List<TaskDTO> taskInstances;
+    private List<ProjectDTO> projects;
+    private List<ContextDTO> contexts;
+    private List<NotificationDTO> notifications;
+
+    /**
+     * Ids of deleted records by entity type.
+     */
+    private Map<String, List<Long>> deleted;
+}
@@ -30,6 +30,7 @@ public class TaskDTO {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private String taskType;
     private Long projectId;
     private String projectName;
@@ -0,0 +1,42 @@
+package com.taskmanager.dto.task;
+
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+/**
+ * A task row as returned by a single-statement update, with the previous values
+ * of the updated properties keyed by property name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRowDTO {
+
+    private Long id;
+    private Long userId;
+    private String taskType;
+    private String title;
+    private String description;
+    private Priority priority;
+    private TaskStatus status;
+    private LocalDate dueDate;
+    private LocalTime dueTime;
+    private Integer estimatedDuration;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private Long projectId;
+    private String projectName;
+    private Map<String, Object> oldValues;
+}
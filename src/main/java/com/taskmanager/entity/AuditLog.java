@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_entity", columnList = "entity_type, entity_id, created_at"),
+        @Index(name = "idx_audit_logs_user", columnList = "user_id, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
 @Builder
 public class AuditLog {
 
+    // Rows are written with multi-row INSERTs that take the id from the column default
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
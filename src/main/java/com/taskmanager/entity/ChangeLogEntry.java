@@ -0,0 +1,49 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest change of one record as seen by its owner, used by the delta sync feed.
+ * There is one row per record: every write overwrites {@code seq}, so the table
+ * stays as large as the data it describes plus tombstones for deleted records.
+ * A row with {@code entity_id = 0} marks the whole collection of a type as
+ * changed, e.g. after a bulk update.
+ */
+@Entity
+@Table(name = "change_log",
+        uniqueConstraints = @UniqueConstraint(name = "uk_change_log_record",
+                columnNames = {"user_id", "entity_type", "entity_id"}),
+        indexes = @Index(name = "idx_change_log_user_seq", columnList = "user_id, seq"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+
+    // Rows are written by an upsert statement that takes the id from the column default
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long seq;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
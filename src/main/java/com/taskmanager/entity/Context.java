@@ -17,7 +17,8 @@ import java.util.Set;
 public class Context {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contexts_seq")
+    @SequenceGenerator(name = "contexts_seq", sequenceName = "contexts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -7,7 +7,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notifications_read_at", columnList = "read, read_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +37,14 @@ public class Notification {
     @Builder.Default
     private boolean read = false;
 
+    /**
+     * Number of events this notification stands for; greater than one for
+     * summaries produced by {@link com.taskmanager.service.NotificationCoalescer}.
+     */
+    @Column(name = "coalesced_count")
+    @Builder.Default
+    private Integer coalescedCount = 1;
+
     @Column(name = "read_at")
     private LocalDateTime readAt;
 
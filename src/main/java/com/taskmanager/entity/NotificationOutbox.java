@@ -0,0 +1,111 @@
+package com.taskmanager.entity;
+
+import com.taskmanager.entity.enums.NotificationType;
+import com.taskmanager.entity.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Pending observer delivery for a notification, written in the same transaction
+ * as the notification itself and drained by the outbox relay after commit. The
+ * observers that already succeeded are kept, so retries skip them.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "reminder_id")
+    private Long reminderId; // set when the delivery originates from a reminder
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false)
+    private NotificationType notificationType;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "delivered_observers", columnDefinition = "TEXT")
+    private String deliveredObservers; // comma-separated observers that already succeeded
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public void markAsDelivered() {
+        this.status = OutboxStatus.DELIVERED;
+        this.deliveredAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public Set<String> getDeliveredObserverNames() {
+        Set<String> names = new HashSet<>();
+        if (deliveredObservers != null && !deliveredObservers.isEmpty()) {
+            names.addAll(Arrays.asList(deliveredObservers.split(",")));
+        }
+        return names;
+    }
+
+    public void setDeliveredObserverNames(Set<String> names) {
+        this.deliveredObservers = names.isEmpty() ? null : String.join(",", new TreeSet<>(names));
+    }
+
+    public void recordFailure(String error, long backoffMillis, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        } else {
+            this.nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMillis));
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.taskmanager.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "notification_preferences")
+@Table(name = "notification_preferences", indexes = {
+        @Index(name = "idx_notification_preferences_digest", columnList = "daily_digest_enabled, daily_digest_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +18,8 @@ import java.time.LocalTime;
 public class NotificationPreferences {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_preferences_seq")
+    @SequenceGenerator(name = "notification_preferences_seq", sequenceName = "notification_preferences_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "email_enabled", nullable = false)
@@ -33,6 +37,9 @@ public class NotificationPreferences {
     @Column(name = "daily_digest_time")
     private LocalTime dailyDigestTime;
 
+    @Column(name = "last_digest_on")
+    private LocalDate lastDigestOn; // date of the last digest sent, so each day gets exactly one
+
     @Column(name = "reminder_lead_time_minutes", nullable = false)
     @Builder.Default
     private int reminderLeadTimeMinutes = 30;
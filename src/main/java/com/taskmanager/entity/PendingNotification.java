@@ -0,0 +1,53 @@
+package com.taskmanager.entity;
+
+import com.taskmanager.entity.enums.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification held back by the coalescer, written in the transaction of the
+ * event that caused it and folded into a summary notification once the
+ * coalescing window of its group has closed.
+ */
+@Entity
+@Table(name = "pending_notifications", indexes = {
+        @Index(name = "idx_pending_notifications_group", columnList = "user_id, notification_type, title")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pending_notifications_seq")
+    @SequenceGenerator(name = "pending_notifications_seq", sequenceName = "pending_notifications_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false)
+    private NotificationType notificationType;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
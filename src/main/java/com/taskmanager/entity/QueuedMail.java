@@ -0,0 +1,77 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Rendered mail waiting for delivery. Rows are claimed by the mail workers,
+ * deleted once the SMTP server accepted the message, and moved to
+ * {@code dead_letter_mails} when they run out of attempts.
+ */
+@Entity
+@Table(name = "mail_queue", indexes = {
+        @Index(name = "idx_mail_queue_due", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueuedMail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_queue_seq")
+    @SequenceGenerator(name = "mail_queue_seq", sequenceName = "mail_queue_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public void recordFailure(String error, long backoffMillis) {
+        this.attempts++;
+        this.lastError = error;
+        deferBy(backoffMillis);
+    }
+
+    /**
+     * Releases the claim and makes the mail available again after the delay,
+     * without counting an attempt.
+     */
+    public void deferBy(long millis) {
+        this.nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(millis));
+        this.claimedUntil = null;
+    }
+}
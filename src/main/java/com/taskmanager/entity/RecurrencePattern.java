@@ -18,7 +18,8 @@ import java.util.Set;
 public class RecurrencePattern {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurrence_patterns_seq")
+    @SequenceGenerator(name = "recurrence_patterns_seq", sequenceName = "recurrence_patterns_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
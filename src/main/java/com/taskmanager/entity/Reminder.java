@@ -3,11 +3,25 @@ package com.taskmanager.entity;
 import com.taskmanager.entity.enums.NotificationType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
+/**
+ * Reminder of a one-time task, or of one instance of a recurring task.
+ * <p>
+ * Reminders attached to a recurring task itself are templates: they only carry
+ * a lead time and notification type and never fire. For every instance whose
+ * reminder enters the reminder horizon, {@link com.taskmanager.service.RecurringTaskService}
+ * materializes one reminder per template, timed from the instance's schedule.
+ */
 @Entity
-@Table(name = "reminders")
+@Table(name = "reminders", indexes = {
+        @Index(name = "idx_reminders_due", columnList = "sent, template, remind_at"),
+        @Index(name = "idx_reminders_task_instance", columnList = "task_instance_id"),
+        @Index(name = "idx_reminders_template_lead", columnList = "template, lead_time_minutes")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +30,8 @@ import java.time.LocalDateTime;
 public class Reminder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reminders_seq")
+    @SequenceGenerator(name = "reminders_seq", sequenceName = "reminders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "remind_at", nullable = false)
@@ -47,6 +62,17 @@ public class Reminder {
     @Column(name = "snoozed_until")
     private LocalDateTime snoozedUntil;
 
+    /**
+     * Set while a reminder worker processes it; other workers skip the reminder
+     * until then, and pick it up again if the worker died.
+     */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    @Builder.Default
+    private boolean template = false;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -54,6 +80,11 @@ public class Reminder {
     @JoinColumn(name = "task_id", nullable = false)
     private Task task;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_instance_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private TaskInstance taskInstance;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
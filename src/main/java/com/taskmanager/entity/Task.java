@@ -5,6 +5,8 @@ import com.taskmanager.entity.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,7 +17,10 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_status", columnList = "user_id, status")
+})
+@DynamicUpdate
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "task_type", discriminatorType = DiscriminatorType.STRING)
 @Getter
@@ -26,7 +31,8 @@ import java.util.Set;
 public abstract class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -63,6 +69,10 @@ public abstract class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
@@ -76,7 +86,9 @@ public abstract class Task {
     @Builder.Default
     private Set<Context> contexts = new HashSet<>();
 
+    // Reminders materialized for recurring task instances belong to the instance
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @SQLRestriction("task_instance_id IS NULL")
     @Builder.Default
     private List<Reminder> reminders = new ArrayList<>();
 
@@ -105,6 +117,10 @@ public abstract class Task {
     }
 
     public boolean isOverdue() {
+        return isOverdue(status, dueDate, dueTime);
+    }
+
+    public static boolean isOverdue(TaskStatus status, LocalDate dueDate, LocalTime dueTime) {
         if (dueDate == null || status == TaskStatus.COMPLETED || status == TaskStatus.CANCELLED) {
             return false;
         }
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "task_instances")
+@Table(name = "task_instances", indexes = {
+        @Index(name = "idx_task_instances_scheduled_date", columnList = "scheduled_date"),
+        @Index(name = "idx_task_instances_task_date", columnList = "recurring_task_id, scheduled_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +21,8 @@ import java.time.LocalTime;
 public class TaskInstance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_instances_seq")
+    @SequenceGenerator(name = "task_instances_seq", sequenceName = "task_instances_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "scheduled_date", nullable = false)
@@ -41,6 +45,10 @@ public class TaskInstance {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recurring_task_id", nullable = false)
     private RecurringTask recurringTask;
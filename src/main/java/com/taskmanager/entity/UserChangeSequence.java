@@ -0,0 +1,33 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-user change counter for the delta sync feed. Incrementing it takes a row
+ * lock that is held until commit, so a user's changes become visible in
+ * sequence order.
+ */
+@Entity
+@Table(name = "user_change_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChangeSequence {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    /**
+     * Highest sequence whose tombstones have been purged. Clients syncing from an
+     * older token may have missed deletions and must reload.
+     */
+    @Column(name = "purged_seq", nullable = false)
+    private long purgedSeq;
+}
@@ -0,0 +1,7 @@
+package com.taskmanager.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
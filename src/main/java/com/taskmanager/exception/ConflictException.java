@@ -0,0 +1,21 @@
+package com.taskmanager.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an update was based on a stale version of a resource. Carries the
+ * current state so the client can merge and retry without another request.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+@Getter
+public class ConflictException extends RuntimeException {
+
+    private final transient Object currentState;
+
+    public ConflictException(String message, Object currentState) {
+        super(message);
+        this.currentState = currentState;
+    }
+}
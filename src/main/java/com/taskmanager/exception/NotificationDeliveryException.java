@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class NotificationDeliveryException extends RuntimeException {
+
+    public NotificationDeliveryException(String message) {
+        super(message);
+    }
+}
@@ -128,6 +128,8 @@ public class TaskFactory {
                 .task(task)
                 .leadTimeMinutes(leadMinutes)
                 .remindAt(remindAt)
+                // Recurring tasks are reminded per instance, see RecurringTaskService
+                .template(task instanceof RecurringTask)
                 .notificationType(request.getNotificationType() != null
                         ? NotificationType.valueOf(request.getNotificationType())
                         : NotificationType.POPUP)
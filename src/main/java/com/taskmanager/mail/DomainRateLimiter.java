@@ -0,0 +1,33 @@
+package com.taskmanager.mail;
+
+import com.taskmanager.util.TokenBucketRateLimiter;
+
+import java.util.Locale;
+
+/**
+ * Token bucket per recipient domain, so a burst to one provider cannot get the
+ * sending account throttled or blocklisted by that provider.
+ */
+public class DomainRateLimiter {
+
+    private final TokenBucketRateLimiter limiter;
+
+    public DomainRateLimiter(int permitsPerMinute) {
+        this.limiter = new TokenBucketRateLimiter(permitsPerMinute, permitsPerMinute);
+    }
+
+    /**
+     * Takes one permit for the recipient's domain.
+     *
+     * @return 0 if the message may be sent now, otherwise the number of
+     *         milliseconds until the next permit becomes available
+     */
+    public long tryAcquire(String recipient) {
+        return limiter.tryAcquire(domainOf(recipient));
+    }
+
+    static String domainOf(String recipient) {
+        int at = recipient.lastIndexOf('@');
+        return at >= 0 ? recipient.substring(at + 1).toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,287 @@
+package com.taskmanager.mail;
+
+import com.taskmanager.entity.DeadLetterMail;
+import com.taskmanager.entity.QueuedMail;
+import com.taskmanager.repository.DeadLetterMailRepository;
+import com.taskmanager.repository.QueuedMailRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous mail delivery engine.
+ * <p>
+ * Rendered messages are stored in the {@code mail_queue} table and sent by a
+ * small set of worker threads on every node. Each worker claims up to
+ * {@code batch-size} due messages with {@code SELECT ... FOR UPDATE SKIP LOCKED},
+ * sends them over one pooled SMTP connection and then records the outcome:
+ * accepted messages are deleted, failed ones are retried with exponential
+ * backoff, and messages that exhaust their attempts are moved to the
+ * {@code dead_letter_mails} table. Queued mail survives restarts and crashes;
+ * claims of a worker that died expire after {@code visibility-timeout-ms}, so a
+ * message may be sent twice but is never lost.
+ */
+@Service
+@Slf4j
+public class MailDeliveryService {
+
+    private final MailTemplateRegistry templateRegistry;
+    private final JavaMailSenderImpl mailSender;
+    private final QueuedMailRepository queuedMailRepository;
+    private final DeadLetterMailRepository deadLetterMailRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Thread> workers = new ArrayList<>();
+
+    @Value("${application.mail.delivery.workers:2}")
+    private int workerCount;
+
+    @Value("${application.mail.delivery.batch-size:50}")
+    private int batchSize;
+
+    @Value("${application.mail.delivery.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${application.mail.delivery.backoff-initial-ms:5000}")
+    private long backoffInitialMillis;
+
+    @Value("${application.mail.delivery.backoff-max-ms:900000}")
+    private long backoffMaxMillis;
+
+    @Value("${application.mail.delivery.visibility-timeout-ms:300000}")
+    private long visibilityTimeoutMillis;
+
+    @Value("${application.mail.delivery.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${application.mail.delivery.connection-max-idle-ms:60000}")
+    private long connectionMaxIdleMillis;
+
+    @Value("${application.mail.delivery.per-domain-per-minute:120}")
+    private int perDomainPerMinute;
+
+    private SmtpConnectionPool connectionPool;
+    private DomainRateLimiter rateLimiter;
+    private volatile boolean running;
+
+    public MailDeliveryService(MailTemplateRegistry templateRegistry,
+                               JavaMailSenderImpl mailSender,
+                               QueuedMailRepository queuedMailRepository,
+                               DeadLetterMailRepository deadLetterMailRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.templateRegistry = templateRegistry;
+        this.mailSender = mailSender;
+        this.queuedMailRepository = queuedMailRepository;
+        this.deadLetterMailRepository = deadLetterMailRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        connectionPool = new SmtpConnectionPool(mailSender, workerCount, connectionMaxIdleMillis);
+        rateLimiter = new DomainRateLimiter(perDomainPerMinute);
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "mail-delivery-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Mail delivery engine started with {} workers", workerCount);
+    }
+
+    /**
+     * Stops the workers after their current batch. Queued mail stays in the
+     * table and is sent by the remaining nodes or after the next start.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        connectionPool.close();
+    }
+
+    /**
+     * Renders a template and stores the result in the mail queue. Inside a
+     * transaction the mail is only queued if that transaction commits.
+     */
+    public void enqueue(String recipient, String templateName, Map<String, ?> model) {
+        MailTemplateRegistry.RenderedMail rendered = templateRegistry.render(templateName, model);
+        queuedMailRepository.save(QueuedMail.builder()
+                .recipient(recipient)
+                .subject(rendered.subject())
+                .body(rendered.body())
+                .build());
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                List<QueuedMail> batch = transactionTemplate.execute(status -> claimBatch());
+                if (batch == null || batch.isEmpty()) {
+                    connectionPool.evictExpired();
+                    Thread.sleep(pollIntervalMillis);
+                    continue;
+                }
+                DeliveryOutcome outcome = new DeliveryOutcome();
+                send(applyRateLimit(batch, outcome), outcome);
+                transactionTemplate.executeWithoutResult(status -> recordOutcome(outcome));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Mail delivery worker error: {}", e.getMessage(), e);
+                try {
+                    // Back off instead of spinning while the database is unavailable
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<QueuedMail> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = queuedMailRepository.lockDueMailIds(now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        queuedMailRepository.claim(ids, now.plus(Duration.ofMillis(visibilityTimeoutMillis)));
+        return queuedMailRepository.findAllById(ids);
+    }
+
+    private List<QueuedMail> applyRateLimit(List<QueuedMail> batch, DeliveryOutcome outcome) {
+        List<QueuedMail> sendable = new ArrayList<>(batch.size());
+        for (QueuedMail mail : batch) {
+            long waitMillis = rateLimiter.tryAcquire(mail.getRecipient());
+            if (waitMillis == 0) {
+                sendable.add(mail);
+            } else {
+                mail.deferBy(waitMillis);
+                outcome.pending.add(mail);
+            }
+        }
+        return sendable;
+    }
+
+    private void send(List<QueuedMail> batch, DeliveryOutcome outcome) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        SmtpConnectionPool.PooledTransport transport;
+        try {
+            transport = connectionPool.borrow();
+        } catch (MessagingException e) {
+            log.warn("Could not connect to SMTP server: {}", e.getMessage());
+            batch.forEach(mail -> retryOrDeadLetter(mail, e, outcome));
+            return;
+        }
+
+        int sent = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            QueuedMail mail = batch.get(i);
+            try {
+                transport.send(toMimeMessage(mail));
+                outcome.sent.add(mail.getId());
+                sent++;
+            } catch (SendFailedException e) {
+                // Rejected recipients; the connection itself is still usable
+                retryOrDeadLetter(mail, e, outcome);
+            } catch (MessagingException e) {
+                connectionPool.invalidate(transport);
+                retryOrDeadLetter(mail, e, outcome);
+                // Hand the rest of the batch back untouched; it gets a fresh connection
+                for (QueuedMail rest : batch.subList(i + 1, batch.size())) {
+                    rest.deferBy(0);
+                    outcome.pending.add(rest);
+                }
+                log.debug("Sent {} mails before the SMTP connection failed", sent);
+                return;
+            }
+        }
+        connectionPool.release(transport);
+        log.debug("Sent {} of {} mails over one SMTP connection", sent, batch.size());
+    }
+
+    private MimeMessage toMimeMessage(QueuedMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        if (mailSender.getUsername() != null && !mailSender.getUsername().isEmpty()) {
+            helper.setFrom(mailSender.getUsername());
+        }
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody());
+        return message;
+    }
+
+    private void retryOrDeadLetter(QueuedMail mail, Exception error, DeliveryOutcome outcome) {
+        mail.recordFailure(error.getMessage(), backoffFor(mail.getAttempts()));
+        if (mail.getAttempts() >= maxAttempts) {
+            log.error("Giving up on mail to {} after {} attempts: {}",
+                    mail.getRecipient(), mail.getAttempts(), error.getMessage());
+            outcome.deadLettered.add(mail);
+        } else {
+            log.warn("Mail to {} failed (attempt {}), retrying: {}",
+                    mail.getRecipient(), mail.getAttempts(), error.getMessage());
+            outcome.pending.add(mail);
+        }
+    }
+
+    private void recordOutcome(DeliveryOutcome outcome) {
+        queuedMailRepository.deleteAllByIdInBatch(outcome.sent);
+        queuedMailRepository.saveAll(outcome.pending);
+        for (QueuedMail mail : outcome.deadLettered) {
+            deadLetterMailRepository.save(DeadLetterMail.builder()
+                    .recipient(mail.getRecipient())
+                    .subject(mail.getSubject())
+                    .body(mail.getBody())
+                    .attempts(mail.getAttempts())
+                    .lastError(mail.getLastError())
+                    .firstQueuedAt(mail.getCreatedAt())
+                    .build());
+        }
+        queuedMailRepository.deleteAllInBatch(outcome.deadLettered);
+    }
+
+    private long backoffFor(int attempts) {
+        long backoff = backoffInitialMillis << Math.min(attempts, 20);
+        return Math.min(backoff, backoffMaxMillis);
+    }
+
+    /**
+     * What happened to one claimed batch, written back in a single transaction.
+     */
+    private static class DeliveryOutcome {
+        private final List<Long> sent = new ArrayList<>();
+        private final List<QueuedMail> pending = new ArrayList<>();
+        private final List<QueuedMail> deadLettered = new ArrayList<>();
+    }
+}
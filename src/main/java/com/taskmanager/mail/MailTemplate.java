@@ -0,0 +1,105 @@
+package com.taskmanager.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain-text mail template compiled once into literal and placeholder segments.
+ * <p>
+ * Placeholders use the {@code {{name}}} syntax. A line whose placeholders all
+ * resolve to {@code null} is left out of the output, which covers optional
+ * fields such as a task description without conditional logic in the template.
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final List<Line> lines;
+
+    private MailTemplate(String name, List<Line> lines) {
+        this.name = name;
+        this.lines = lines;
+    }
+
+    public static MailTemplate compile(String name, String source) {
+        List<Line> lines = new ArrayList<>();
+        for (String rawLine : source.split("\n", -1)) {
+            lines.add(compileLine(name, rawLine));
+        }
+        return new MailTemplate(name, List.copyOf(lines));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String render(Map<String, ?> model) {
+        StringBuilder out = new StringBuilder(128);
+        boolean first = true;
+        for (Line line : lines) {
+            if (line.isOmitted(model)) {
+                continue;
+            }
+            if (!first) {
+                out.append('\n');
+            }
+            line.appendTo(out, model);
+            first = false;
+        }
+        return out.toString();
+    }
+
+    private static Line compileLine(String templateName, String rawLine) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = rawLine.indexOf(OPEN, position);
+            if (start < 0) {
+                literals.add(rawLine.substring(position));
+                break;
+            }
+            int end = rawLine.indexOf(CLOSE, start + OPEN.length());
+            if (end < 0) {
+                throw new IllegalArgumentException(
+                        "Unclosed placeholder in mail template '" + templateName + "': " + rawLine);
+            }
+            literals.add(rawLine.substring(position, start));
+            placeholders.add(rawLine.substring(start + OPEN.length(), end).trim());
+            position = end + CLOSE.length();
+        }
+        return new Line(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * One template line: {@code literals[0] ph[0] literals[1] ph[1] ... literals[n]}.
+     */
+    private record Line(String[] literals, String[] placeholders) {
+
+        boolean isOmitted(Map<String, ?> model) {
+            if (placeholders.length == 0) {
+                return false;
+            }
+            for (String placeholder : placeholders) {
+                if (model.get(placeholder) != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void appendTo(StringBuilder out, Map<String, ?> model) {
+            for (int i = 0; i < placeholders.length; i++) {
+                out.append(literals[i]);
+                Object value = model.get(placeholders[i]);
+                if (value != null) {
+                    out.append(value);
+                }
+            }
+            out.append(literals[placeholders.length]);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads and compiles every {@code classpath:mail-templates/*.txt} template at startup.
+ * The first line of each file must be {@code Subject: ...}; the rest is the body.
+ */
+@Component
+@Slf4j
+public class MailTemplateRegistry {
+
+    private static final String LOCATION = "classpath:mail-templates/*.txt";
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final Map<String, CompiledMail> templates = new HashMap<>();
+
+    public MailTemplateRegistry() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                String fileName = resource.getFilename();
+                String name = fileName.substring(0, fileName.length() - ".txt".length());
+                String source = resource.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+                templates.put(name, compile(name, source));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load mail templates", e);
+        }
+        log.info("Compiled {} mail templates: {}", templates.size(), templates.keySet());
+    }
+
+    public RenderedMail render(String templateName, Map<String, ?> model) {
+        CompiledMail template = templates.get(templateName);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown mail template: " + templateName);
+        }
+        return new RenderedMail(template.subject().render(model), template.body().render(model));
+    }
+
+    private static CompiledMail compile(String name, String source) {
+        int newline = source.indexOf('\n');
+        String firstLine = newline >= 0 ? source.substring(0, newline) : source;
+        if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalStateException("Mail template '" + name + "' must start with a Subject: line");
+        }
+        String body = newline >= 0 ? source.substring(newline + 1) : "";
+        if (body.endsWith("\n")) {
+            body = body.substring(0, body.length() - 1);
+        }
+        return new CompiledMail(
+                MailTemplate.compile(name + ".subject", firstLine.substring(SUBJECT_PREFIX.length()).trim()),
+                MailTemplate.compile(name, body));
+    }
+
+    private record CompiledMail(MailTemplate subject, MailTemplate body) {
+    }
+
+    public record RenderedMail(String subject, String body) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskmanager.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps authenticated SMTP transports open between batches so each message does
+ * not pay for a new TCP/TLS handshake and AUTH exchange. Connections idle for
+ * longer than {@code maxIdleMillis} are closed before SMTP servers drop them.
+ */
+@Slf4j
+public class SmtpConnectionPool implements AutoCloseable {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<PooledTransport> idle;
+    private final long maxIdleMillis;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, int maxIdleConnections, long maxIdleMillis) {
+        this.mailSender = mailSender;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdleConnections));
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    public PooledTransport borrow() throws MessagingException {
+        PooledTransport transport;
+        while ((transport = idle.poll()) != null) {
+            if (!transport.isExpired(maxIdleMillis) && transport.transport.isConnected()) {
+                return transport;
+            }
+            transport.close();
+        }
+        return open();
+    }
+
+    public void release(PooledTransport transport) {
+        transport.lastUsedAt = System.currentTimeMillis();
+        if (!idle.offer(transport)) {
+            transport.close();
+        }
+    }
+
+    public void invalidate(PooledTransport transport) {
+        transport.close();
+    }
+
+    public void evictExpired() {
+        idle.removeIf(transport -> {
+            if (transport.isExpired(maxIdleMillis)) {
+                transport.close();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public void close() {
+        PooledTransport transport;
+        while ((transport = idle.poll()) != null) {
+            transport.close();
+        }
+    }
+
+    private PooledTransport open() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        // Same empty-credential handling as JavaMailSenderImpl#connectTransport
+        String username = "".equals(mailSender.getUsername()) ? null : mailSender.getUsername();
+        String password = "".equals(mailSender.getPassword()) ? null : mailSender.getPassword();
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    public static final class PooledTransport {
+
+        private final Transport transport;
+        private long lastUsedAt = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        private boolean isExpired(long maxIdleMillis) {
+            return System.currentTimeMillis() - lastUsedAt > maxIdleMillis;
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
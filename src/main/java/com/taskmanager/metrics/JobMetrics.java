@@ -0,0 +1,107 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Meters for scheduled jobs, tagged with the job name:
+ * <ul>
+ *   <li>{@code taskmanager.job.duration} - run time per outcome</li>
+ *   <li>{@code taskmanager.job.items} - items processed over all runs</li>
+ *   <li>{@code taskmanager.job.last.items} - items processed by the last successful run</li>
+ *   <li>{@code taskmanager.job.lag} - how long the oldest item of the last run had
+ *       been due when it was picked up, for jobs that work off a due time</li>
+ *   <li>{@code taskmanager.job.last.success} - epoch seconds of the last successful
+ *       run, for alerting on jobs that stopped running</li>
+ * </ul>
+ */
+@Component
+public class JobMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    public JobMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Run start(String job) {
+        return new Run(jobs.computeIfAbsent(job, this::register), System.nanoTime());
+    }
+
+    private JobState register(String job) {
+        JobState state = new JobState(job, Counter.builder("taskmanager.job.items").tag("job", job).register(registry));
+        Gauge.builder("taskmanager.job.last.items", state.lastItems, AtomicLong::get)
+                .tag("job", job)
+                .register(registry);
+        Gauge.builder("taskmanager.job.lag", state.lagMillis, lag -> lag.get() / 1000.0)
+                .tag("job", job)
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("taskmanager.job.last.success", state.lastSuccessEpochSeconds, AtomicLong::get)
+                .tag("job", job)
+                .baseUnit("seconds")
+                .register(registry);
+        return state;
+    }
+
+    /**
+     * One execution of a job; finish it with exactly one of the methods.
+     */
+    public final class Run {
+
+        private final JobState state;
+        private final long startedAt;
+
+        private Run(JobState state, long startedAt) {
+            this.state = state;
+            this.startedAt = startedAt;
+        }
+
+        public void success(int items) {
+            success(items, Duration.ZERO);
+        }
+
+        public void success(int items, Duration lag) {
+            state.items.increment(items);
+            state.lastItems.set(items);
+            state.lagMillis.set(Math.max(0, lag.toMillis()));
+            state.lastSuccessEpochSeconds.set(System.currentTimeMillis() / 1000);
+            stop("success");
+        }
+
+        public void failure() {
+            stop("failure");
+        }
+
+        private void stop(String outcome) {
+            Timer.builder("taskmanager.job.duration")
+                    .tag("job", state.job)
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class JobState {
+        private final String job;
+        private final AtomicLong lastItems = new AtomicLong();
+        private final AtomicLong lagMillis = new AtomicLong();
+        private final AtomicLong lastSuccessEpochSeconds = new AtomicLong();
+        private final Counter items;
+
+        private JobState(String job, Counter items) {
+            this.job = job;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements an endpoint or scheduled job may execute per
+ * request or run. On a controller class it applies to every handler method that
+ * does not declare its own.
+ * <p>
+ * Checked only when {@code application.query-budget.enabled} is set. Exceeding
+ * the budget is logged and never fails a request; the integration tests assert
+ * the budgets of the main list endpoints, so N+1 regressions break the build
+ * instead of reaching production.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int value();
+}
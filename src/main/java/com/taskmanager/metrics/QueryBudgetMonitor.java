@@ -0,0 +1,61 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Opens and reports {@link QueryScope}s for HTTP requests and scheduled jobs.
+ * <p>
+ * Every closed scope adds its statement count to {@code taskmanager.query.count},
+ * tagged with the scope name. Scopes over their {@link QueryBudget} and statements
+ * repeated {@code repeat-threshold} times or more are logged; the latter is how an
+ * N+1 shows up even on endpoints without a budget.
+ */
+@Component
+@Slf4j
+public class QueryBudgetMonitor {
+
+    private final MeterRegistry registry;
+
+    @Value("${application.query-budget.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.query-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    public QueryBudgetMonitor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return the new scope, or {@code null} when query counting is disabled
+     */
+    public QueryScope open(String name, QueryBudget budget) {
+        return enabled ? QueryScope.open(name, budget != null ? budget.value() : 0) : null;
+    }
+
+    public void close(QueryScope scope) {
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+
+        DistributionSummary.builder("taskmanager.query.count")
+                .tag("scope", scope.getName())
+                .register(registry)
+                .record(scope.getStatements());
+
+        if (scope.isOverBudget()) {
+            log.warn("{} executed {} SQL statements in {} ms, budget is {}", scope.getName(),
+                    scope.getStatements(), scope.getElapsedMillis(), scope.getBudget());
+        }
+        Map<String, Integer> repeated = scope.repeatedStatements(repeatThreshold);
+        repeated.forEach((sql, count) ->
+                log.warn("{} executed the same statement {} times, likely N+1: {}", scope.getName(), count, sql));
+    }
+}
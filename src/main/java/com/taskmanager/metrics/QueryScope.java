@@ -0,0 +1,97 @@
+package com.taskmanager.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements executed by the current thread during one HTTP request or
+ * scheduled job run. Statements are recorded by {@link QueryCountingDataSource};
+ * threads without an open scope are not tracked.
+ */
+public final class QueryScope {
+
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final int budget;
+    private final QueryScope previous;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long nanos;
+
+    private QueryScope(String name, int budget, QueryScope previous) {
+        this.name = name;
+        this.budget = budget;
+        this.previous = previous;
+    }
+
+    /**
+     * Starts counting for the current thread until {@link #close()}. Scopes may
+     * nest; the inner one gets the statements while it is open.
+     *
+     * @param budget maximum number of statements, or 0 for no limit
+     */
+    static QueryScope open(String name, int budget) {
+        QueryScope scope = new QueryScope(name, budget, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static QueryScope current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql, long elapsedNanos) {
+        QueryScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.nanos += elapsedNanos;
+            scope.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void close() {
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public boolean isOverBudget() {
+        return budget > 0 && statements > budget;
+    }
+
+    /**
+     * Statements that ran at least {@code threshold} times, most frequent first;
+     * the same SELECT repeated with different parameters is the N+1 signature.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskmanager.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements of every {@code @Scheduled} run in a scope named
+ * {@code job Class.method}. Budgets on jobs are only logged, never enforced.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ScheduledJobQueryAspect {
+
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public Object countQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), QueryBudget.class);
+        QueryScope scope = queryBudgetMonitor.open(
+                "job " + signature.getDeclaringType().getSimpleName() + "." + signature.getName(), budget);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            queryBudgetMonitor.close(scope);
+        }
+    }
+}
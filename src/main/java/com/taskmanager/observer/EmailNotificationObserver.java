@@ -2,79 +2,53 @@ package com.taskmanager.observer;
 
 import com.taskmanager.entity.Notification;
 import com.taskmanager.entity.Reminder;
+import com.taskmanager.entity.Task;
 import com.taskmanager.entity.User;
+import com.taskmanager.mail.MailDeliveryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class EmailNotificationObserver implements NotificationObserver {
 
-    private final JavaMailSender mailSender;
+    private final MailDeliveryService mailDeliveryService;
 
     @Override
-    @Async
     public void notify(User user, Reminder reminder, String message) {
-        try {
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-            mailMessage.setTo(user.getEmail());
-            mailMessage.setSubject("Task Reminder: " + reminder.getTask().getTitle());
-            mailMessage.setText(buildEmailContent(user, reminder, message));
-            
-            mailSender.send(mailMessage);
-            log.info("Email notification sent to {} for task: {}", 
-                    user.getEmail(), reminder.getTask().getTitle());
-        } catch (Exception e) {
-            log.error("Failed to send email notification to {}: {}", user.getEmail(), e.getMessage());
-        }
+        Task task = reminder.getTask();
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", user.getFirstName());
+        model.put("message", message);
+        model.put("taskTitle", task.getTitle());
+        model.put("description", task.getDescription());
+        model.put("dueDate", task.getDueDate());
+        model.put("dueTimeSuffix", task.getDueDate() != null && task.getDueTime() != null
+                ? " at " + task.getDueTime()
+                : null);
+        model.put("priority", task.getPriority().name());
+
+        mailDeliveryService.enqueue(user.getEmail(), "task-reminder", model);
+        log.info("Email notification queued for {} for task: {}", user.getEmail(), task.getTitle());
     }
 
     @Override
-    @Async
     public void notify(User user, Notification notification) {
-        try {
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-            mailMessage.setTo(user.getEmail());
-            mailMessage.setSubject(notification.getTitle());
-            mailMessage.setText(notification.getMessage());
-            
-            mailSender.send(mailMessage);
-            log.info("Email notification sent to {}: {}", user.getEmail(), notification.getTitle());
-        } catch (Exception e) {
-            log.error("Failed to send email notification to {}: {}", user.getEmail(), e.getMessage());
-        }
+        Map<String, Object> model = new HashMap<>();
+        model.put("title", notification.getTitle());
+        model.put("message", notification.getMessage());
+
+        mailDeliveryService.enqueue(user.getEmail(), "notification", model);
+        log.info("Email notification queued for {}: {}", user.getEmail(), notification.getTitle());
     }
 
     @Override
     public boolean supports(String notificationType) {
         return "EMAIL".equals(notificationType) || "BOTH".equals(notificationType);
     }
-
-    private String buildEmailContent(User user, Reminder reminder, String message) {
-        StringBuilder content = new StringBuilder();
-        content.append("Hello ").append(user.getFirstName()).append(",\n\n");
-        content.append(message).append("\n\n");
-        content.append("Task: ").append(reminder.getTask().getTitle()).append("\n");
-        
-        if (reminder.getTask().getDescription() != null) {
-            content.append("Description: ").append(reminder.getTask().getDescription()).append("\n");
-        }
-        if (reminder.getTask().getDueDate() != null) {
-            content.append("Due Date: ").append(reminder.getTask().getDueDate());
-            if (reminder.getTask().getDueTime() != null) {
-                content.append(" at ").append(reminder.getTask().getDueTime());
-            }
-            content.append("\n");
-        }
-        content.append("Priority: ").append(reminder.getTask().getPriority().name()).append("\n\n");
-        content.append("Best regards,\n");
-        content.append("Smart Task Manager");
-        
-        return content.toString();
-    }
 }
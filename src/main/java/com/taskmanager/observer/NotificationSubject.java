@@ -3,20 +3,28 @@ package com.taskmanager.observer;
 import com.taskmanager.entity.Notification;
 import com.taskmanager.entity.Reminder;
 import com.taskmanager.entity.User;
+import com.taskmanager.exception.NotificationDeliveryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class NotificationSubject {
 
     private final List<NotificationObserver> observers;
+    private final MeterRegistry meterRegistry;
 
-    public NotificationSubject(List<NotificationObserver> observers) {
+    public NotificationSubject(List<NotificationObserver> observers, MeterRegistry meterRegistry) {
         this.observers = new ArrayList<>(observers);
+        this.meterRegistry = meterRegistry;
     }
 
     public void addObserver(NotificationObserver observer) {
@@ -32,7 +40,7 @@ public class NotificationSubject {
         for (NotificationObserver observer : observers) {
             if (observer.supports(notificationType)) {
                 try {
-                    observer.notify(user, reminder, message);
+                    dispatch(observer, () -> observer.notify(user, reminder, message));
                 } catch (Exception e) {
                     log.error("Observer failed to process notification: {}", e.getMessage());
                 }
@@ -46,11 +54,64 @@ public class NotificationSubject {
         for (NotificationObserver observer : observers) {
             if (observer.supports(notificationType)) {
                 try {
-                    observer.notify(user, notification);
+                    dispatch(observer, () -> observer.notify(user, notification));
                 } catch (Exception e) {
                     log.error("Observer failed to process notification: {}", e.getMessage());
                 }
             }
         }
     }
+
+    /**
+     * Delivers a notification to every supporting observer and reports failures
+     * to the caller instead of swallowing them, so the outbox relay can retry.
+     * When a reminder is given the reminder-specific observer callback is used.
+     * <p>
+     * Observers named in {@code delivered} are skipped, and every observer that
+     * succeeds is added to it, so a retry only reaches the observers that failed.
+     */
+    public void deliver(User user, Notification notification, Reminder reminder, String message,
+                        Set<String> delivered) {
+        String notificationType = notification.getType().name();
+        List<String> failures = new ArrayList<>();
+        for (NotificationObserver observer : observers) {
+            String name = ClassUtils.getUserClass(observer).getSimpleName();
+            if (observer.supports(notificationType) && !delivered.contains(name)) {
+                try {
+                    if (reminder != null) {
+                        dispatch(observer, () -> observer.notify(user, reminder, message));
+                    } else {
+                        dispatch(observer, () -> observer.notify(user, notification));
+                    }
+                    delivered.add(name);
+                } catch (Exception e) {
+                    log.warn("Observer {} failed to deliver notification {}: {}",
+                            name, notification.getId(), e.getMessage());
+                    failures.add(name + ": " + e.getMessage());
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new NotificationDeliveryException(String.join("; ", failures));
+        }
+    }
+
+    /**
+     * Runs one observer callback, timed as {@code taskmanager.observer.dispatch}
+     * per observer and outcome.
+     */
+    private void dispatch(NotificationObserver observer, Runnable callback) {
+        long started = System.nanoTime();
+        String outcome = "failure";
+        try {
+            callback.run();
+            outcome = "success";
+        } finally {
+            Timer.builder("taskmanager.observer.dispatch")
+                    .tag("observer", observer.getClass().getSimpleName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
 }
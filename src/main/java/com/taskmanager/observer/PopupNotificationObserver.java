@@ -4,9 +4,9 @@ import com.taskmanager.dto.notification.NotificationDTO;
 import com.taskmanager.entity.Notification;
 import com.taskmanager.entity.Reminder;
 import com.taskmanager.entity.User;
+import com.taskmanager.websocket.NotificationPushService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class PopupNotificationObserver implements NotificationObserver {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationPushService notificationPushService;
 
     @Override
     public void notify(User user, Reminder reminder, String message) {
@@ -26,8 +26,8 @@ public class PopupNotificationObserver implements NotificationObserver {
                 .taskTitle(reminder.getTask().getTitle())
                 .build();
 
-        sendWebSocketNotification(user.getId(), notificationDTO);
-        log.info("Popup notification sent to user {} for task: {}", 
+        notificationPushService.push(user.getId(), notificationDTO);
+        log.info("Popup notification pushed to user {} for task: {}", 
                 user.getId(), reminder.getTask().getTitle());
     }
 
@@ -38,27 +38,19 @@ public class PopupNotificationObserver implements NotificationObserver {
                 .title(notification.getTitle())
                 .message(notification.getMessage())
                 .type(notification.getType().name())
+                .coalescedCount(notification.getCoalescedCount())
                 .read(notification.isRead())
                 .createdAt(notification.getCreatedAt())
                 .taskId(notification.getTask() != null ? notification.getTask().getId() : null)
                 .taskTitle(notification.getTask() != null ? notification.getTask().getTitle() : null)
                 .build();
 
-        sendWebSocketNotification(user.getId(), notificationDTO);
-        log.info("Popup notification sent to user {}: {}", user.getId(), notification.getTitle());
+        notificationPushService.push(user.getId(), notificationDTO);
+        log.info("Popup notification pushed to user {}: {}", user.getId(), notification.getTitle());
     }
 
     @Override
     public boolean supports(String notificationType) {
         return "POPUP".equals(notificationType) || "BOTH".equals(notificationType);
     }
-
-    private void sendWebSocketNotification(Long userId, NotificationDTO notification) {
-        String destination = "/queue/notifications";
-        messagingTemplate.convertAndSendToUser(
-                userId.toString(),
-                destination,
-                notification
-        );
-    }
 }
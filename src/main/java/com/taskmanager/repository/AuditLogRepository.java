@@ -1,18 +1,55 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.audit.AuditLogDTO;
 import com.taskmanager.entity.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Audit queries always carry a {@code created_at} range so PostgreSQL can prune
+ * the monthly partitions of {@code audit_logs}.
+ */
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, Long entityId);
-    
-    List<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId);
-    
-    List<AuditLog> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime start, LocalDateTime end);
+
+    String DTO_SELECT = "SELECT new com.taskmanager.dto.audit.AuditLogDTO(a.id, a.entityType, a.entityId, a.action, " +
+            "a.oldValues, a.newValues, a.changedFields, a.userId, a.userEmail, a.createdAt, a.ipAddress) " +
+            "FROM AuditLog a WHERE a.userId = :userId " +
+            "AND (:entityType IS NULL OR a.entityType = :entityType) " +
+            "AND (:entityId IS NULL OR a.entityId = :entityId) " +
+            "AND a.createdAt >= :from ";
+
+    @Query(DTO_SELECT +
+           "AND (a.createdAt < :beforeCreatedAt OR (a.createdAt = :beforeCreatedAt AND a.id < :beforeId)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLogDTO> findPage(@Param("userId") Long userId,
+                               @Param("entityType") String entityType,
+                               @Param("entityId") Long entityId,
+                               @Param("from") LocalDateTime from,
+                               @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                               @Param("beforeId") Long beforeId,
+                               Pageable pageable);
+
+    @Query(DTO_SELECT + "AND a.createdAt < :to ORDER BY a.createdAt DESC, a.id DESC")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<AuditLogDTO> streamRange(@Param("userId") Long userId,
+                                    @Param("entityType") String entityType,
+                                    @Param("entityId") Long entityId,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
 }
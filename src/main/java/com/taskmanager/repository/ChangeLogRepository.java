@@ -0,0 +1,58 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.userId = :userId AND c.seq > :since ORDER BY c.seq ASC, c.id ASC")
+    List<ChangeLogEntry> findChangesSince(@Param("userId") Long userId, @Param("since") long since, Pageable pageable);
+
+    List<ChangeLogEntry> findByUserIdAndSeq(Long userId, Long seq);
+
+    @Query(value = "SELECT COALESCE((SELECT seq FROM user_change_sequences WHERE user_id = :userId), 0)", nativeQuery = true)
+    long findCurrentSeq(@Param("userId") Long userId);
+
+    /**
+     * Latest sequence of a user's changes to one entity type, never lower than the
+     * purge point so purging tombstones cannot make a version go backwards.
+     */
+    @Query(value = "SELECT GREATEST(" +
+                   "COALESCE((SELECT MAX(seq) FROM change_log WHERE user_id = :userId AND entity_type = :entityType), 0), " +
+                   "COALESCE((SELECT purged_seq FROM user_change_sequences WHERE user_id = :userId), 0))",
+           nativeQuery = true)
+    long findLatestSeq(@Param("userId") Long userId, @Param("entityType") String entityType);
+
+    /**
+     * Latest sequence of a user's changes to one entity, including changes made to
+     * all records of its type at once.
+     */
+    @Query(value = "SELECT COALESCE(MAX(seq), 0) FROM change_log " +
+                   "WHERE user_id = :userId AND entity_type = :entityType AND entity_id IN (:entityId, 0)",
+           nativeQuery = true)
+    long findLatestEntitySeq(@Param("userId") Long userId, @Param("entityType") String entityType,
+                             @Param("entityId") Long entityId);
+
+    @Query(value = "SELECT COALESCE((SELECT purged_seq FROM user_change_sequences WHERE user_id = :userId), 0)", nativeQuery = true)
+    long findPurgedSeq(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE user_change_sequences s SET purged_seq = GREATEST(s.purged_seq, t.max_seq) " +
+                   "FROM (SELECT user_id, MAX(seq) AS max_seq FROM change_log " +
+                   "WHERE deleted = true AND changed_at < :cutoff GROUP BY user_id) t " +
+                   "WHERE s.user_id = t.user_id", nativeQuery = true)
+    int advancePurgedSeq(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.deleted = true AND c.changedAt < :cutoff")
+    int deleteTombstonesBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,9 @@ public interface ContextRepository extends JpaRepository<Context, Long> {
     Optional<Context> findByName(String name);
     
     Optional<Context> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT DISTINCT c FROM Context c LEFT JOIN FETCH c.tasks WHERE c.user.id = :userId AND c.id IN :ids")
+    List<Context> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
     
     boolean existsByNameAndUserId(String name, Long userId);
 }
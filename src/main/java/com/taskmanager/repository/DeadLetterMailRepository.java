@@ -0,0 +1,13 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.DeadLetterMail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeadLetterMailRepository extends JpaRepository<DeadLetterMail, Long> {
+
+    List<DeadLetterMail> findByRecipientOrderByCreatedAtDesc(String recipient);
+}
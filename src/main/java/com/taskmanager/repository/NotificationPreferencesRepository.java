@@ -2,12 +2,39 @@ package com.taskmanager.repository;
 
 import com.taskmanager.entity.NotificationPreferences;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NotificationPreferencesRepository extends JpaRepository<NotificationPreferences, Long> {
     
     Optional<NotificationPreferences> findByUserId(Long userId);
+
+    /**
+     * Users whose digest time has passed today and who did not get today's
+     * digest yet, including those whose time passed while no node was running.
+     */
+    @Query("SELECT p FROM NotificationPreferences p JOIN FETCH p.user u WHERE p.dailyDigestEnabled = true AND p.emailEnabled = true " +
+            "AND u.enabled = true AND p.dailyDigestTime <= :time AND (p.lastDigestOn IS NULL OR p.lastDigestOn < :today) " +
+            "AND MOD(u.id, :shardCount) = :shardIndex")
+    List<NotificationPreferences> findDueDigestRecipients(@Param("time") LocalTime time,
+                                                          @Param("today") LocalDate today,
+                                                          @Param("shardCount") int shardCount,
+                                                          @Param("shardIndex") int shardIndex);
+
+    @Modifying
+    @Query("UPDATE NotificationPreferences p SET p.lastDigestOn = :today WHERE p.id IN :ids")
+    int markDigestSent(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    @Query("SELECT p.user.id FROM NotificationPreferences p WHERE p.user.id IN :userIds " +
+            "AND p.dailyDigestEnabled = true AND p.emailEnabled = true")
+    List<Long> findDigestUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,10 +1,17 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -14,4 +21,42 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
     
     long countByUserIdAndReadFalse(Long userId);
+
+    Optional<Notification> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.user LEFT JOIN FETCH n.task WHERE n.id IN :ids")
+    List<Notification> findAllWithUserAndTaskByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.task WHERE n.user.id = :userId AND n.id IN :ids")
+    List<Notification> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.task WHERE n.user.id = :userId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.task WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageBefore(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.read = true AND n.readAt < :cutoff")
+    int deleteReadBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT n.id FROM Notification n WHERE n.read = true AND n.readAt < :cutoff ORDER BY n.id")
+    List<Long> findReadIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT DISTINCT n.user.id FROM Notification n WHERE n.id IN :ids")
+    List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
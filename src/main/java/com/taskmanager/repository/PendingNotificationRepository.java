@@ -0,0 +1,29 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.notification.PendingGroupDTO;
+import com.taskmanager.entity.PendingNotification;
+import com.taskmanager.entity.enums.NotificationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingNotificationRepository extends JpaRepository<PendingNotification, Long> {
+
+    /**
+     * Groups whose oldest pending notification was buffered before {@code cutoff}.
+     */
+    @Query("SELECT new com.taskmanager.dto.notification.PendingGroupDTO(p.userId, p.notificationType, p.title) " +
+            "FROM PendingNotification p GROUP BY p.userId, p.notificationType, p.title HAVING MIN(p.createdAt) <= :cutoff")
+    List<PendingGroupDTO> findDueGroups(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT p FROM PendingNotification p WHERE p.userId = :userId AND p.notificationType = :type " +
+            "AND p.title = :title ORDER BY p.id ASC")
+    List<PendingNotification> findGroup(@Param("userId") Long userId,
+                                        @Param("type") NotificationType type,
+                                        @Param("title") String title);
+}
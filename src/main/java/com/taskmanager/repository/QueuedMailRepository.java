@@ -0,0 +1,30 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.QueuedMail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QueuedMailRepository extends JpaRepository<QueuedMail, Long> {
+
+    /**
+     * Locks up to {@code limit} due, unclaimed mails for the calling transaction,
+     * skipping rows locked by workers on this or other nodes.
+     */
+    @Query(value = "SELECT m.id FROM mail_queue m WHERE m.next_attempt_at <= :now " +
+                   "AND (m.claimed_until IS NULL OR m.claimed_until <= :now) " +
+                   "ORDER BY m.next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockDueMailIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE QueuedMail m SET m.claimedUntil = :claimedUntil WHERE m.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+}
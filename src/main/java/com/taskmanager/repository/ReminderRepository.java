@@ -2,11 +2,13 @@ package com.taskmanager.repository;
 
 import com.taskmanager.entity.Reminder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,12 +16,76 @@ public interface ReminderRepository extends JpaRepository<Reminder, Long> {
     
     List<Reminder> findByTaskId(Long taskId);
     
-    @Query("SELECT r FROM Reminder r WHERE r.sent = false AND r.remindAt <= :now AND (r.snoozedUntil IS NULL OR r.snoozedUntil <= :now)")
-    List<Reminder> findPendingReminders(@Param("now") LocalDateTime now);
+    /**
+     * Due reminders of the users in one scheduler shard, see
+     * {@link com.taskmanager.service.ClusterCoordinator.Shard}.
+     */
+    @Query("SELECT r.id FROM Reminder r WHERE r.sent = false AND r.template = false AND r.remindAt <= :now " +
+           "AND (r.snoozedUntil IS NULL OR r.snoozedUntil <= :now) AND MOD(r.task.user.id, :shardCount) = :shardIndex " +
+           "ORDER BY r.remindAt")
+    List<Long> findPendingReminderIds(@Param("now") LocalDateTime now,
+                                        @Param("shardCount") int shardCount,
+                                        @Param("shardIndex") int shardIndex);
+
+    /**
+     * Marks a reminder as sent unless another node already did. The row lock is
+     * held until commit, so of two concurrent callers only one gets 1.
+     */
+    @Modifying
+    @Query("UPDATE Reminder r SET r.sent = true, r.sentAt = :sentAt WHERE r.id = :id AND r.sent = false")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
     
+    /**
+     * Locks up to {@code limit} due, unclaimed reminders for the calling
+     * transaction. Rows locked by other workers are skipped instead of waited for,
+     * so concurrent workers on any node each get a different batch.
+     */
+    @Query(value = "SELECT r.id FROM reminders r WHERE r.sent = false AND r.template = false AND r.remind_at <= :now " +
+                   "AND (r.snoozed_until IS NULL OR r.snoozed_until <= :now) " +
+                   "AND (r.claimed_until IS NULL OR r.claimed_until <= :now) " +
+                   "ORDER BY r.remind_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockDueReminderIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Reminder r SET r.claimedUntil = :claimedUntil WHERE r.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
     @Query("SELECT r FROM Reminder r WHERE r.task.user.id = :userId AND r.sent = false ORDER BY r.remindAt ASC")
     List<Reminder> findUpcomingRemindersByUserId(@Param("userId") Long userId);
     
     @Query("SELECT r FROM Reminder r WHERE r.task.user.id = :userId AND r.acknowledged = false ORDER BY r.remindAt DESC")
     List<Reminder> findUnacknowledgedRemindersByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT r FROM Reminder r JOIN FETCH r.task WHERE r.id IN :ids")
+    List<Reminder> findAllWithTaskByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r FROM Reminder r WHERE r.template = true AND r.task.id IN :taskIds")
+    List<Reminder> findTemplatesByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT COALESCE(MAX(r.leadTimeMinutes), 0) FROM Reminder r WHERE r.template = true")
+    int findMaxTemplateLeadTimeMinutes();
+
+    @Query("SELECT r FROM Reminder r WHERE r.taskInstance.id IN :instanceIds")
+    List<Reminder> findByTaskInstanceIdIn(@Param("instanceIds") Collection<Long> instanceIds);
+
+    /**
+     * Drops the not yet sent instance reminders of a recurring task after its
+     * templates changed, so they are materialized again from the new templates.
+     */
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.task.id = :taskId AND r.taskInstance IS NOT NULL AND r.sent = false")
+    int deleteUnsentInstanceReminders(@Param("taskId") Long taskId);
+
+    /**
+     * Moves a task's lead-time reminders to its current due date and time and
+     * re-arms them, like the entity update path does after a due date change.
+     */
+    @Modifying
+    @Query(value = "UPDATE reminders r SET remind_at = t.due_date + COALESCE(t.due_time, TIME '00:00') " +
+                   "- make_interval(mins => r.lead_time_minutes), sent = false " +
+                   "FROM tasks t WHERE r.task_id = t.id AND t.id = :taskId " +
+                   "AND t.due_date IS NOT NULL AND r.lead_time_minutes IS NOT NULL",
+           nativeQuery = true)
+    int rescheduleForTask(@Param("taskId") Long taskId);
 }
@@ -1,5 +1,7 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.notification.DigestItemDTO;
+import com.taskmanager.dto.stats.TaskCountRow;
 import com.taskmanager.entity.TaskInstance;
 import com.taskmanager.entity.enums.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,11 +10,13 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskInstanceRepository extends JpaRepository<TaskInstance, Long> {
+public interface TaskInstanceRepository extends JpaRepository<TaskInstance, Long>, TaskInstanceRepositoryCustom {
 
     List<TaskInstance> findByRecurringTaskId(Long recurringTaskId);
 
@@ -25,11 +29,42 @@ public interface TaskInstanceRepository extends JpaRepository<TaskInstance, Long
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT ti FROM TaskInstance ti JOIN FETCH ti.recurringTask rt LEFT JOIN FETCH rt.project WHERE rt.user.id = :userId AND ti.id IN :ids")
+    List<TaskInstance> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
     @Query("SELECT ti FROM TaskInstance ti WHERE ti.recurringTask.id = :taskId AND ti.scheduledDate >= :fromDate ORDER BY ti.scheduledDate ASC")
     List<TaskInstance> findFutureInstancesByTaskId(@Param("taskId") Long taskId, @Param("fromDate") LocalDate fromDate);
 
     Optional<TaskInstance> findByRecurringTaskIdAndScheduledDate(Long recurringTaskId, LocalDate scheduledDate);
 
+    /**
+     * Open instances scheduled within the given dates whose recurring task has
+     * reminder templates, for the users in one scheduler shard.
+     */
+    @Query("SELECT ti FROM TaskInstance ti JOIN FETCH ti.recurringTask rt " +
+           "WHERE ti.scheduledDate BETWEEN :fromDate AND :toDate AND ti.status NOT IN ('COMPLETED', 'CANCELLED') " +
+           "AND MOD(rt.user.id, :shardCount) = :shardIndex " +
+           "AND EXISTS (SELECT r.id FROM Reminder r WHERE r.task.id = rt.id AND r.template = true)")
+    List<TaskInstance> findOpenWithReminderTemplates(@Param("fromDate") LocalDate fromDate,
+                                                     @Param("toDate") LocalDate toDate,
+                                                     @Param("shardCount") int shardCount,
+                                                     @Param("shardIndex") int shardIndex);
+
     @Query("SELECT ti FROM TaskInstance ti WHERE ti.recurringTask.user.id = :userId AND ti.status = :status")
     List<TaskInstance> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    @Query("SELECT new com.taskmanager.dto.notification.DigestItemDTO(rt.user.id, rt.title, rt.priority, ti.scheduledDate, COALESCE(ti.scheduledTime, rt.dueTime)) " +
+            "FROM TaskInstance ti JOIN ti.recurringTask rt WHERE rt.user.id IN :userIds AND ti.scheduledDate <= :date " +
+            "AND ti.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY ti.scheduledDate ASC, rt.priority ASC")
+    List<DigestItemDTO> findOpenDigestItems(@Param("userIds") Collection<Long> userIds, @Param("date") LocalDate date);
+
+    @Query("SELECT new com.taskmanager.dto.stats.TaskCountRow(ti.status, rt.priority, COUNT(ti), " +
+            "SUM(CASE WHEN ti.scheduledDate < :today THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ti.scheduledDate = :today THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ti.status = 'COMPLETED' AND ti.completedAt >= :weekStart THEN 1 ELSE 0 END)) " +
+            "FROM TaskInstance ti JOIN ti.recurringTask rt WHERE rt.user.id = :userId " +
+            "AND (ti.scheduledDate <= :today OR ti.completedAt >= :weekStart) GROUP BY ti.status, rt.priority")
+    List<TaskCountRow> countDashboardInstances(@Param("userId") Long userId,
+                                               @Param("today") LocalDate today,
+                                               @Param("weekStart") LocalDateTime weekStart);
 }
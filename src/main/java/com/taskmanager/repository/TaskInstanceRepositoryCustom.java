@@ -0,0 +1,24 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TaskInstanceRepositoryCustom {
+
+    /**
+     * Sets the status of a task instance whose recurring task belongs to the user
+     * with one {@code UPDATE ... RETURNING} statement, without loading the instance
+     * or its task. With an expected version, only an instance still at that version
+     * is updated.
+     *
+     * @return the previous status and the owning task, or empty if the user has no such
+     *         instance or it is at another version
+     */
+    Optional<StatusChange> updateStatus(Long id, Long userId, TaskStatus status, LocalDateTime completedAt,
+                                        Long expectedVersion);
+
+    record StatusChange(Long recurringTaskId, TaskStatus oldStatus, LocalDateTime oldCompletedAt) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.enums.TaskStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC updates for {@link TaskInstanceRepository}. The statements run on
+ * the connection of the current JPA transaction.
+ */
+class TaskInstanceRepositoryCustomImpl implements TaskInstanceRepositoryCustom {
+
+    private static final String UPDATE_STATUS_SQL = "WITH old AS (" +
+            "SELECT ti.id, ti.status, ti.completed_at FROM task_instances ti " +
+            "JOIN tasks t ON t.id = ti.recurring_task_id " +
+            "WHERE ti.id = :id AND t.user_id = :userId " +
+            "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR ti.version = :expectedVersion) FOR UPDATE OF ti) " +
+            "UPDATE task_instances ti SET status = :status, completed_at = :completedAt, version = ti.version + 1 " +
+            "FROM old WHERE ti.id = old.id " +
+            "RETURNING ti.recurring_task_id, old.status AS old_status, old.completed_at AS old_completed_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    TaskInstanceRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(Long id, Long userId, TaskStatus status, LocalDateTime completedAt,
+                                               Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("status", status.name())
+                .addValue("completedAt", completedAt, Types.TIMESTAMP)
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+        List<StatusChange> rows = jdbcTemplate.query(UPDATE_STATUS_SQL, params, (rs, rowNum) -> new StatusChange(
+                rs.getLong("recurring_task_id"),
+                TaskStatus.valueOf(rs.getString("old_status")),
+                rs.getObject("old_completed_at", LocalDateTime.class)));
+        return rows.stream().findFirst();
+    }
+}
@@ -1,5 +1,7 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.notification.DigestItemDTO;
+import com.taskmanager.dto.stats.TaskCountRow;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.enums.Priority;
 import com.taskmanager.entity.enums.TaskStatus;
@@ -10,15 +12,21 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
 
     @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.contexts WHERE t.user.id = :userId ORDER BY t.dueDate ASC, t.priority ASC")
     List<Task> findByUserIdOrderByDueDateAscPriorityAsc(@Param("userId") Long userId);
 
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.contexts WHERE t.user.id = :userId AND t.id IN :ids")
+    List<Task> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.contexts WHERE t.id = :id AND t.user.id = :userId")
     Optional<Task> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
@@ -56,4 +64,31 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     long countPendingTasks(@Param("userId") Long userId);
 
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT new com.taskmanager.dto.stats.TaskCountRow(t.status, t.priority, COUNT(t), " +
+            "SUM(CASE WHEN t.dueDate < :today THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.dueDate = :today THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'COMPLETED' AND t.completedAt >= :weekStart THEN 1 ELSE 0 END)) " +
+            "FROM Task t WHERE t.user.id = :userId AND TYPE(t) = OneTimeTask GROUP BY t.status, t.priority")
+    List<TaskCountRow> countDashboardTasks(@Param("userId") Long userId,
+                                           @Param("today") LocalDate today,
+                                           @Param("weekStart") LocalDateTime weekStart);
+
+    @Query("SELECT new com.taskmanager.dto.notification.DigestItemDTO(t.user.id, t.title, t.priority, t.dueDate, t.dueTime) " +
+            "FROM Task t WHERE t.user.id IN :userIds AND TYPE(t) = OneTimeTask AND t.dueDate <= :date " +
+            "AND t.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY t.dueDate ASC, t.priority ASC")
+    List<DigestItemDTO> findOpenDigestItems(@Param("userIds") Collection<Long> userIds, @Param("date") LocalDate date);
+
+    /**
+     * Open tasks due on or before the given date for the users in one scheduler
+     * shard; tasks due that day are overdue only once their due time has passed.
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.user WHERE t.dueDate <= :date AND t.status NOT IN ('COMPLETED', 'CANCELLED') " +
+            "AND MOD(t.user.id, :shardCount) = :shardIndex")
+    List<Task> findOverdueCandidates(@Param("date") LocalDate date,
+                                     @Param("shardCount") int shardCount,
+                                     @Param("shardIndex") int shardIndex);
+
+    @Query("SELECT t.id FROM RecurringTask t WHERE MOD(t.user.id, :shardCount) = :shardIndex")
+    List<Long> findRecurringTaskIds(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
 }
@@ -0,0 +1,20 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.task.TaskRowDTO;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Updates scalar properties of a task owned by the user with one
+     * {@code UPDATE ... RETURNING} statement, bumping its version, without loading
+     * the entity. Supported properties are title, description, priority, status,
+     * dueDate, dueTime, estimatedDuration, completedAt and projectId.
+     *
+     * @param expectedVersion the version the update is based on, or null to skip the check
+     * @return the updated row, or empty if the user has no task with that id and version
+     */
+    Optional<TaskRowDTO> updateProperties(Long id, Long userId, Map<String, Object> properties, Long expectedVersion);
+}
@@ -0,0 +1,129 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.task.TaskRowDTO;
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.TaskStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC updates for {@link TaskRepository}. The statements run on the
+ * connection of the current JPA transaction.
+ */
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final Map<String, Column> COLUMNS = Map.of(
+            "title", new Column("title", String.class, Types.VARCHAR),
+            "description", new Column("description", String.class, Types.VARCHAR),
+            "priority", new Column("priority", Priority.class, Types.VARCHAR),
+            "status", new Column("status", TaskStatus.class, Types.VARCHAR),
+            "dueDate", new Column("due_date", LocalDate.class, Types.DATE),
+            "dueTime", new Column("due_time", LocalTime.class, Types.TIME),
+            "estimatedDuration", new Column("estimated_duration", Integer.class, Types.INTEGER),
+            "completedAt", new Column("completed_at", LocalDateTime.class, Types.TIMESTAMP),
+            "projectId", new Column("project_id", Long.class, Types.BIGINT));
+
+    private static final String RETURNING_COLUMNS = "t.id, t.user_id, t.task_type, t.title, t.description, " +
+            "t.priority, t.status, t.due_date, t.due_time, t.estimated_duration, t.completed_at, t.created_at, " +
+            "t.updated_at, t.version, t.project_id, " +
+            "(SELECT p.name FROM projects p WHERE p.id = t.project_id) AS project_name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    TaskRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<TaskRowDTO> updateProperties(Long id, Long userId, Map<String, Object> properties,
+                                                 Long expectedVersion) {
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("No properties to update");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("expectedVersion", expectedVersion)
+                .addValue("now", LocalDateTime.now(), Types.TIMESTAMP);
+
+        StringBuilder assignments = new StringBuilder();
+        StringBuilder oldColumns = new StringBuilder();
+        StringBuilder returningOld = new StringBuilder();
+        properties.forEach((property, value) -> {
+            Column column = columnOf(property);
+            assignments.append(column.name()).append(" = :").append(property).append(", ");
+            oldColumns.append(", ").append(column.name());
+            returningOld.append(", old.").append(column.name()).append(" AS old_").append(column.name());
+            params.addValue(property, value instanceof Enum<?> e ? e.name() : value, column.sqlType());
+        });
+
+        // Lock and capture the previous values in the same statement, for the audit trail
+        String sql = "WITH old AS (SELECT id" + oldColumns + " FROM tasks " +
+                "WHERE id = :id AND user_id = :userId" +
+                (expectedVersion != null ? " AND version = :expectedVersion" : "") + " FOR UPDATE) " +
+                "UPDATE tasks t SET " + assignments + "updated_at = :now, version = t.version + 1 " +
+                "FROM old WHERE t.id = old.id " +
+                "RETURNING " + RETURNING_COLUMNS + returningOld;
+
+        List<TaskRowDTO> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> mapRow(rs, properties));
+        return rows.stream().findFirst();
+    }
+
+    private static TaskRowDTO mapRow(ResultSet rs, Map<String, Object> properties) throws SQLException {
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        for (String property : properties.keySet()) {
+            Column column = columnOf(property);
+            oldValues.put(property, read(rs, "old_" + column.name(), column.type()));
+        }
+        return TaskRowDTO.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .taskType(rs.getString("task_type"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .priority(read(rs, "priority", Priority.class))
+                .status(read(rs, "status", TaskStatus.class))
+                .dueDate(rs.getObject("due_date", LocalDate.class))
+                .dueTime(rs.getObject("due_time", LocalTime.class))
+                .estimatedDuration(rs.getObject("estimated_duration", Integer.class))
+                .completedAt(rs.getObject("completed_at", LocalDateTime.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .version(rs.getLong("version"))
+                .projectId(rs.getObject("project_id", Long.class))
+                .projectName(rs.getString("project_name"))
+                .oldValues(oldValues)
+                .build();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> T read(ResultSet rs, String label, Class<T> type) throws SQLException {
+        if (type.isEnum()) {
+            String value = rs.getString(label);
+            return value != null ? (T) Enum.valueOf((Class<? extends Enum>) type, value) : null;
+        }
+        return rs.getObject(label, type);
+    }
+
+    private static Column columnOf(String property) {
+        Column column = COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Property cannot be updated by statement: " + property);
+        }
+        return column;
+    }
+
+    private record Column(String name, Class<?> type, int sqlType) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code audit_logs} range-partitioned by month on PostgreSQL.
+ * <p>
+ * On startup a plain {@code audit_logs} table (as created by Hibernate) is
+ * converted once: the existing table is attached as the partition holding
+ * everything up to the end of the current month, and monthly partitions follow
+ * from there. A daily job creates partitions {@code months-ahead} in advance and
+ * detaches and drops partitions that lie entirely before the retention window,
+ * so purging old entries is a metadata operation instead of a large DELETE.
+ * Queries filtered on {@code created_at} only touch the partitions they need.
+ */
+@Component
+@Slf4j
+public class AuditLogPartitionManager {
+
+    private static final String TABLE = "audit_logs";
+    private static final String LEGACY_PARTITION = "audit_logs_legacy";
+    private static final long ADVISORY_LOCK_KEY = 0x6175646974L; // "audit"
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${application.audit.partitions.retention-months:13}")
+    private int retentionMonths;
+
+    private volatile boolean enabled;
+
+    public AuditLogPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(database)) {
+            log.info("Audit log partitioning requires PostgreSQL, skipping on {}", database);
+            return;
+        }
+        enabled = true;
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            if (!isPartitioned()) {
+                convertToPartitionedTable();
+            }
+        });
+        maintainPartitions();
+    }
+
+    /**
+     * Scheduled job to create upcoming audit log partitions and drop expired ones.
+     * Runs daily at 00:15.
+     */
+    @Scheduled(cron = "0 15 0 * * *")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            createUpcomingPartitions();
+            dropExpiredPartitions();
+        });
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                        + "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class, TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    private void convertToPartitionedTable() {
+        LocalDate boundary = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+        log.info("Converting {} to a monthly partitioned table; existing rows stay in {}", TABLE, LEGACY_PARTITION);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+        // Index and constraint names are schema-wide, so free them for the new parent table
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = ? AND schemaname = current_schema()",
+                String.class, LEGACY_PARTITION);
+        for (String index : indexes) {
+            jdbcTemplate.execute("ALTER INDEX " + index + " RENAME TO " + index + "_legacy");
+        }
+        // Partitions cannot have identity columns of their own
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_PARTITION + " INCLUDING DEFAULTS, "
+                + "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), "
+                + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + LEGACY_PARTITION + "), false)", Long.class, TABLE);
+        jdbcTemplate.execute("CREATE INDEX idx_audit_logs_entity ON " + TABLE + " (entity_type, entity_id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_audit_logs_user ON " + TABLE + " (user_id, created_at)");
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION
+                + " FOR VALUES FROM (MINVALUE) TO ('" + boundary + "')");
+    }
+
+    private void createUpcomingPartitions() {
+        LocalDate horizon = LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead + 1L);
+        LocalDate from = partitionBounds().stream()
+                .map(PartitionBound::upperBound)
+                .max(LocalDate::compareTo)
+                .orElse(LocalDate.now().withDayOfMonth(1));
+
+        while (from.isBefore(horizon)) {
+            LocalDate to = from.plusMonths(1);
+            String partition = TABLE + "_" + from.format(PARTITION_SUFFIX);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            log.info("Created audit log partition {}", partition);
+            from = to;
+        }
+    }
+
+    private void dropExpiredPartitions() {
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        for (PartitionBound partition : partitionBounds()) {
+            if (!partition.upperBound().isAfter(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name());
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                log.info("Dropped audit log partition {} (entries before {})", partition.name(), partition.upperBound());
+            }
+        }
+    }
+
+    private List<PartitionBound> partitionBounds() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace",
+                (rs, rowNum) -> new PartitionBound(rs.getString(1), parseUpperBound(rs.getString(2))),
+                TABLE).stream()
+                .filter(bound -> bound.upperBound() != null)
+                .toList();
+    }
+
+    private static LocalDate parseUpperBound(String expression) {
+        Matcher matcher = UPPER_BOUND.matcher(expression);
+        if (!matcher.find()) {
+            return null; // MAXVALUE or DEFAULT partition
+        }
+        return LocalDateTime.parse(matcher.group(1).replace(' ', 'T')).toLocalDate();
+    }
+
+    private record PartitionBound(String name, LocalDate upperBound) {
+    }
+}
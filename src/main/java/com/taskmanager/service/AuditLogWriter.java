@@ -0,0 +1,164 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.AuditLog;
+import com.taskmanager.util.MpscRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffered writer for audit log rows.
+ * <p>
+ * Callers enqueue records into a lock-free ring buffer and return immediately.
+ * A single flusher thread writes them with multi-row {@code INSERT} statements,
+ * either once {@code batch-size} records are waiting or every
+ * {@code flush-interval-ms}. Ids come from the table's sequence-backed identity
+ * column inside the insert, so a batch costs one round trip. If the buffer is
+ * full the caller writes its record directly. Everything still buffered is
+ * written on shutdown.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_logs (entity_type, entity_id, action, "
+            + "old_values, new_values, changed_fields, user_id, user_email, created_at, ip_address) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 10;
+    private static final int MAX_ROWS_PER_INSERT = 3000; // stays below the driver's bind parameter limit
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.audit.writer.buffer-capacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${application.audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${application.audit.writer.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    private MpscRingBuffer<AuditLog> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void start() {
+        batchSize = Math.min(batchSize, MAX_ROWS_PER_INSERT);
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+        running = true;
+        flusher = new Thread(this::runFlusher, "audit-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = buffer.size();
+        if (remaining > 0) {
+            log.info("Flushing {} buffered audit log entries before shutdown", remaining);
+        }
+        while (flushBatch() > 0) {
+            // keep draining until the buffer is empty
+        }
+    }
+
+    public void enqueue(AuditLog entry) {
+        if (!buffer.offer(entry)) {
+            log.warn("Audit log buffer full, writing entry directly");
+            insert(List.of(entry));
+            return;
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                if (buffer.size() < batchSize) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+                }
+                flushBatch();
+            } catch (Exception e) {
+                log.error("Audit log flusher error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private int flushBatch() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        int drained = buffer.drainTo(batch, batchSize);
+        if (drained > 0) {
+            insert(batch);
+        }
+        return drained;
+    }
+
+    private void insert(List<AuditLog> batch) {
+        try {
+            jdbcTemplate.update(insertSql(batch.size()), toParameters(batch));
+            log.debug("Wrote {} audit log entries", batch.size());
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("Failed to write audit log for {} {}: {}",
+                        batch.get(0).getEntityType(), batch.get(0).getEntityId(), e.getMessage());
+                return;
+            }
+            // Isolate the offending rows instead of losing the whole batch
+            log.warn("Audit log batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> insert(List.of(entry)));
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] toParameters(List<AuditLog> batch) {
+        Object[] parameters = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (AuditLog entry : batch) {
+            parameters[i++] = entry.getEntityType();
+            parameters[i++] = entry.getEntityId();
+            parameters[i++] = entry.getAction();
+            parameters[i++] = entry.getOldValues();
+            parameters[i++] = entry.getNewValues();
+            parameters[i++] = entry.getChangedFields();
+            parameters[i++] = entry.getUserId();
+            parameters[i++] = entry.getUserEmail();
+            parameters[i++] = Timestamp.valueOf(entry.getCreatedAt());
+            parameters[i++] = entry.getIpAddress();
+        }
+        return parameters;
+    }
+}
@@ -1,16 +1,30 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.dto.audit.AuditLogDTO;
+import com.taskmanager.dto.audit.AuditLogPageDTO;
 import com.taskmanager.entity.AuditLog;
 import com.taskmanager.entity.User;
+import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,46 +32,125 @@ import java.util.List;
 public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ObjectMapper objectMapper;
 
-    @Async
+    @Value("${application.audit.query.default-range-days:30}")
+    private int defaultRangeDays;
+
+    @Value("${application.audit.query.max-page-size:200}")
+    private int maxPageSize;
+
+    /**
+     * Records an audit entry. The acting user and client address are captured
+     * on the calling thread; the row itself is written later in a batch by
+     * {@link AuditLogWriter}.
+     */
     public void logAction(String entityType, Long entityId, String action, String oldValues, String newValues) {
+        logChange(entityType, entityId, action, null, oldValues, newValues, null);
+    }
+
+    /**
+     * Records an audit entry for a field-level change. {@code ownerId} is used as
+     * the acting user when no user is authenticated, e.g. in scheduled jobs.
+     */
+    public void logChange(String entityType, Long entityId, String action, String changedFields,
+                          String oldValues, String newValues, Long ownerId) {
         try {
             Long userId = getCurrentUserId();
+            if (userId == null) {
+                userId = ownerId;
+            }
+            if (userId == null) {
+                log.debug("Skipping audit log for {} {} {} without a user", action, entityType, entityId);
+                return;
+            }
             String userEmail = getCurrentUserEmail();
 
             AuditLog auditLog = AuditLog.builder()
                     .entityType(entityType)
                     .entityId(entityId)
                     .action(action)
+                    .changedFields(changedFields)
                     .oldValues(oldValues)
                     .newValues(newValues)
                     .userId(userId)
                     .userEmail(userEmail)
+                    .ipAddress(getClientAddress())
+                    .createdAt(LocalDateTime.now())
                     .build();
 
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} {} on {} {}", action, entityType, entityId, userEmail);
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued: {} {} on {} {}", action, entityType, entityId, userEmail);
         } catch (Exception e) {
             log.error("Failed to create audit log: {}", e.getMessage());
         }
     }
 
-    public List<AuditLog> getAuditLogsForEntity(String entityType, Long entityId) {
-        return auditLogRepository.findByEntityTypeAndEntityIdOrderByCreatedAtDesc(entityType, entityId);
+    /**
+     * Returns one page of the current user's audit entries, newest first, using
+     * keyset pagination. The range defaults to the last {@code default-range-days}.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPageDTO getAuditLogPage(String entityType, Long entityId, LocalDateTime from, LocalDateTime to,
+                                           LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        Long userId = requireCurrentUserId();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(defaultRangeDays);
+        boolean hasCursor = beforeCreatedAt != null && beforeId != null;
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+
+        List<AuditLogDTO> rows = auditLogRepository.findPage(userId, entityType, entityId, start,
+                hasCursor ? beforeCreatedAt : end,
+                hasCursor ? beforeId : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<AuditLogDTO> items = hasMore ? rows.subList(0, size) : rows;
+        AuditLogDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return AuditLogPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextBeforeCreatedAt(hasMore ? last.getCreatedAt() : null)
+                .nextBeforeId(hasMore ? last.getId() : null)
+                .build();
     }
 
-    public List<AuditLog> getAuditLogsByUser(Long userId) {
-        return auditLogRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    /**
+     * Streams the current user's audit entries in the range as newline-delimited
+     * JSON, without holding the result set in memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportAuditLogs(String entityType, Long entityId, LocalDateTime from, LocalDateTime to,
+                                OutputStream out) throws IOException {
+        Long userId = requireCurrentUserId();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(defaultRangeDays);
+
+        ObjectWriter writer = objectMapper.writerFor(AuditLogDTO.class);
+        try (Stream<AuditLogDTO> rows = auditLogRepository.streamRange(userId, entityType, entityId, start, end)) {
+            Iterator<AuditLogDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+        }
+        out.flush();
     }
 
-    public List<AuditLog> getAuditLogsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return auditLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(start, end);
+    private Long requireCurrentUserId() {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        return userId;
     }
 
     private Long getCurrentUserId() {
         try {
-            Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            if (principal instanceof User) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User) {
+                Object principal = authentication.getPrincipal();
                 return ((User) principal).getId();
             }
         } catch (Exception e) {
@@ -66,9 +159,20 @@ public class AuditService {
         return null;
     }
 
+    private String getClientAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
     private String getCurrentUserEmail() {
         try {
-            return SecurityContextHolder.getContext().getAuthentication().getName();
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null) {
+                return "system";
+            }
+            return authentication.getName();
         } catch (Exception e) {
             log.warn("Could not get current user email for audit log");
         }
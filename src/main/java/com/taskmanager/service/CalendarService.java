@@ -6,6 +6,7 @@ import com.taskmanager.strategy.CalendarViewStrategy;
 import com.taskmanager.strategy.DailyCalendarView;
 import com.taskmanager.strategy.MonthlyCalendarView;
 import com.taskmanager.strategy.WeeklyCalendarView;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import java.time.LocalDate;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("taskmanager.service")
 public class CalendarService {
 
     private final DailyCalendarView dailyCalendarView;
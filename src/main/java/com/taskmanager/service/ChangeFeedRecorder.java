@@ -0,0 +1,298 @@
+package com.taskmanager.service;
+
+import com.taskmanager.datasource.RecentWrites;
+import com.taskmanager.entity.Context;
+import com.taskmanager.entity.Notification;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Reminder;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskInstance;
+import com.taskmanager.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Maintains the per-user change feed behind {@code /sync}.
+ * <p>
+ * Inserts, updates and deletes of tasks, task instances, projects, contexts and
+ * notifications are collected per Hibernate session. Reminder changes count as
+ * changes of their task and task instance, whose responses include them. Just before the transaction
+ * commits, each affected user's sequence is incremented once and every changed
+ * record gets that sequence in {@code change_log}. The counter row stays locked
+ * until commit, so a client that has seen sequence {@code n} will never later
+ * find a committed change numbered {@code n} or below. Committed changes also
+ * keep the affected users' reads on the primary for a while, see {@link RecentWrites}.
+ */
+@Component
+@Slf4j
+public class ChangeFeedRecorder implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    /**
+     * Entity id recorded when a bulk statement changed an unknown set of records.
+     */
+    public static final long ALL_RECORDS = 0L;
+
+    private static final String NEXT_SEQ_SQL = "INSERT INTO user_change_sequences (user_id, seq, purged_seq) " +
+            "VALUES (:userId, 1, 0) ON CONFLICT (user_id) DO UPDATE SET seq = user_change_sequences.seq + 1 " +
+            "RETURNING seq";
+    private static final String UPSERT_SQL = "INSERT INTO change_log (user_id, entity_type, entity_id, seq, deleted, changed_at) " +
+            "VALUES (:userId, :entityType, :entityId, :seq, :deleted, :changedAt) " +
+            "ON CONFLICT (user_id, entity_type, entity_id) DO UPDATE SET seq = EXCLUDED.seq, " +
+            "deleted = EXCLUDED.deleted, changed_at = EXCLUDED.changed_at";
+    private static final String TASK_OWNER_SQL = "SELECT user_id FROM tasks WHERE id = :taskId";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final ResourceVersions resourceVersions;
+    private final RecentWrites recentWrites;
+    private final ConcurrentMap<SharedSessionContractImplementor, PendingChanges> pending = new ConcurrentHashMap<>();
+
+    public ChangeFeedRecorder(EntityManagerFactory entityManagerFactory,
+                              EntityManager entityManager,
+                              ResourceVersions resourceVersions,
+                              RecentWrites recentWrites) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.resourceVersions = resourceVersions;
+        this.recentWrites = recentWrites;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Records that a bulk statement changed records of the given type for a user
+     * in the current transaction. Clients reload that collection on their next sync.
+     */
+    public void recordBulkChange(Long userId, String entityType) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        pendingFor(session).add(userId, null, entityType, ALL_RECORDS, false);
+    }
+
+    /**
+     * Records a change to one record written with a plain SQL statement, which
+     * the Hibernate listeners do not see.
+     */
+    public void recordChange(Long userId, String entityType, Long entityId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        pendingFor(session).add(userId, null, entityType, entityId, false);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId(), true);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EventSource session, Object entity, Object id, boolean deleted) {
+        if (!(id instanceof Long entityId)) {
+            return;
+        }
+        if (entity instanceof Task task) {
+            Long userId = idOf(task.getUser());
+            pendingFor(session).add(userId, null, "Task", entityId, deleted);
+            // Project summaries include task counts, so they change with their tasks
+            if (task.getProject() != null) {
+                pendingFor(session).add(userId, null, "Project", idOf(task.getProject()), false);
+            }
+        } else if (entity instanceof TaskInstance instance) {
+            Task task = instance.getRecurringTask();
+            Long userId = task != null && Hibernate.isInitialized(task) ? idOf(task.getUser()) : null;
+            pendingFor(session).add(userId, idOf(task), "TaskInstance", entityId, deleted);
+        } else if (entity instanceof Project project) {
+            pendingFor(session).add(idOf(project.getUser()), null, "Project", entityId, deleted);
+        } else if (entity instanceof Context context) {
+            if (context.getUser() != null) { // default contexts are shared and never change
+                pendingFor(session).add(idOf(context.getUser()), null, "Context", entityId, deleted);
+            }
+        } else if (entity instanceof Reminder reminder) {
+            Task task = reminder.getTask();
+            Long userId = task != null && Hibernate.isInitialized(task) ? idOf(task.getUser()) : null;
+            pendingFor(session).add(userId, idOf(task), "Task", idOf(task), false);
+            if (reminder.getTaskInstance() != null) {
+                pendingFor(session).add(userId, idOf(task), "TaskInstance", idOf(reminder.getTaskInstance()), false);
+            }
+        } else if (entity instanceof Notification notification) {
+            pendingFor(session).add(idOf(notification.getUser()), null, "Notification", entityId, deleted);
+        }
+    }
+
+    private PendingChanges pendingFor(SessionImplementor session) {
+        return pending.computeIfAbsent(session, s -> {
+            PendingChanges changes = new PendingChanges();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                    flush(completing, changes));
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, ignored) -> {
+                pending.remove(session, changes);
+                if (success) {
+                    changes.committed().forEach(version -> {
+                        resourceVersions.advance(version.userId(), version.entityType(), version.seq());
+                        recentWrites.record(version.userId());
+                    });
+                }
+            });
+            return changes;
+        });
+    }
+
+    private void flush(SessionImplementor session, PendingChanges changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Change>> byUser = changes.byUser(taskId -> ownerOfTask(session, taskId));
+        byUser.forEach((userId, userChanges) -> {
+            long seq = session.createNativeQuery(NEXT_SEQ_SQL, Long.class)
+                    .setParameter("userId", userId)
+                    .getSingleResult();
+            for (Change change : userChanges) {
+                session.createNativeMutationQuery(UPSERT_SQL)
+                        .setParameter("userId", userId)
+                        .setParameter("entityType", change.entityType())
+                        .setParameter("entityId", change.entityId())
+                        .setParameter("seq", seq)
+                        .setParameter("deleted", change.deleted())
+                        .setParameter("changedAt", now)
+                        .executeUpdate();
+                changes.committed().add(new CommittedVersion(userId, change.entityType(), seq));
+            }
+        });
+    }
+
+    private Long ownerOfTask(SessionImplementor session, Long taskId) {
+        List<Long> owners = session.createNativeQuery(TASK_OWNER_SQL, Long.class)
+                .setParameter("taskId", taskId)
+                .getResultList();
+        return owners.isEmpty() ? null : owners.get(0);
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        LazyInitializer lazyInitializer = HibernateProxy.extractLazyInitializer(entity);
+        if (lazyInitializer != null) {
+            return (Long) lazyInitializer.getInternalIdentifier();
+        }
+        if (entity instanceof User user) {
+            return user.getId();
+        }
+        if (entity instanceof Task task) {
+            return task.getId();
+        }
+        if (entity instanceof Project project) {
+            return project.getId();
+        }
+        if (entity instanceof TaskInstance instance) {
+            return instance.getId();
+        }
+        return null;
+    }
+
+    private record Change(String entityType, Long entityId, boolean deleted) {
+    }
+
+    private record CommittedVersion(Long userId, String entityType, long seq) {
+    }
+
+    /**
+     * Changes of one session. Later changes of the same record replace earlier
+     * ones, so a record inserted and deleted in one transaction ends as a tombstone.
+     */
+    private static final class PendingChanges {
+
+        private final Map<String, PendingChange> changes = new LinkedHashMap<>();
+        private final List<CommittedVersion> committed = new ArrayList<>();
+
+        List<CommittedVersion> committed() {
+            return committed;
+        }
+
+        synchronized void add(Long userId, Long taskId, String entityType, Long entityId, boolean deleted) {
+            if (entityId == null || (userId == null && taskId == null)) {
+                return;
+            }
+            String key = entityType + ":" + entityId;
+            PendingChange previous = changes.get(key);
+            if (previous != null && previous.change().deleted() && !deleted) {
+                return; // e.g. a parent project touched after it was deleted in the same transaction
+            }
+            changes.put(key, new PendingChange(userId, taskId, new Change(entityType, entityId, deleted)));
+        }
+
+        synchronized boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        /**
+         * Groups the changes by user, ordered by user id, so that transactions
+         * touching several users lock their sequence rows in the same order and
+         * cannot deadlock each other.
+         */
+        synchronized Map<Long, List<Change>> byUser(Function<Long, Long> taskOwner) {
+            Map<Long, List<Change>> byUser = new TreeMap<>();
+            for (PendingChange change : changes.values()) {
+                Long userId = change.userId() != null ? change.userId() : taskOwner.apply(change.taskId());
+                if (userId != null) {
+                    byUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(change.change());
+                }
+            }
+            return byUser;
+        }
+    }
+
+    private record PendingChange(Long userId, Long taskId, Change change) {
+    }
+}
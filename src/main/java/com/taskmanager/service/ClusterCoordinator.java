@@ -0,0 +1,202 @@
+package com.taskmanager.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Coordinates scheduled jobs between application nodes through the database.
+ * <ul>
+ *   <li>Leases in {@code scheduler_locks} make sure a job, or one shard of a job,
+ *       runs on a single node at a time. Every lease expires after
+ *       {@code lockAtMostFor}, so a crashed node blocks it for that long at most,
+ *       and is held for at least {@code lockAtLeastFor}, so a node whose clock is
+ *       a little behind does not run the same cron job again.</li>
+ *   <li>Every node heartbeats into {@code cluster_nodes}. The live nodes, ordered
+ *       by id, split per-user work by {@code user_id mod nodeCount}, so reminders
+ *       and recurring tasks are processed by all nodes in parallel instead of by a
+ *       single active one.</li>
+ * </ul>
+ * With {@code application.cluster.enabled} off, which is the default for single
+ * node deployments, every job runs unlocked and owns all users.
+ */
+@Component
+@Slf4j
+public class ClusterCoordinator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate lockTransaction;
+
+    @Value("${application.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.cluster.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${application.cluster.node-timeout-ms:30000}")
+    private long nodeTimeoutMs;
+
+    private String nodeId;
+
+    public ClusterCoordinator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Lock changes commit on their own, also when the caller is in a transaction
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void init() {
+        nodeId = configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        if (enabled) {
+            heartbeat();
+            log.info("Joined scheduler cluster as {}, running shard {}", nodeId, currentShard());
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (enabled) {
+            // Lets the remaining nodes take over this node's users on their next run
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE node_id = ?", nodeId);
+        }
+    }
+
+    /**
+     * Scheduled job to keep this node in the live set and forget long-dead nodes.
+     */
+    @Scheduled(fixedDelayString = "${application.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update("UPDATE cluster_nodes SET heartbeat_at = ? WHERE node_id = ?", now, nodeId);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO cluster_nodes (node_id, started_at, heartbeat_at) VALUES (?, ?, ?)",
+                    nodeId, now, now);
+        }
+        jdbcTemplate.update("DELETE FROM cluster_nodes WHERE heartbeat_at < ?",
+                now.minus(Duration.ofMillis(nodeTimeoutMs * 10)));
+    }
+
+    /**
+     * Returns this node's slice of the users, based on the nodes that sent a
+     * heartbeat within {@code node-timeout-ms}.
+     */
+    public Shard currentShard() {
+        if (!enabled) {
+            return Shard.ALL;
+        }
+        List<String> nodes = new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT node_id FROM cluster_nodes WHERE heartbeat_at >= ? ORDER BY node_id",
+                String.class, LocalDateTime.now().minus(Duration.ofMillis(nodeTimeoutMs))));
+        if (!nodes.contains(nodeId)) {
+            // Missed heartbeats, e.g. after a long GC pause; take part anyway
+            nodes.add(nodeId);
+            nodes.sort(null);
+        }
+        return new Shard(nodes.indexOf(nodeId), nodes.size());
+    }
+
+    /**
+     * Runs the task if this node gets the named lease, and releases it afterwards.
+     *
+     * @param lockAtMostFor  how long the lease lasts if this node dies while running
+     * @param lockAtLeastFor minimum time between two runs on any node
+     * @return whether the task ran
+     */
+    public boolean runLocked(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return true;
+        }
+        LocalDateTime lockedAt = LocalDateTime.now();
+        if (!Boolean.TRUE.equals(lockTransaction.execute(status -> tryLock(name, lockedAt, lockAtMostFor)))) {
+            log.debug("Skipping {}, locked by another node", name);
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } finally {
+            LocalDateTime earliestNext = lockedAt.plus(lockAtLeastFor);
+            LocalDateTime now = LocalDateTime.now();
+            lockTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                    "UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?",
+                    earliestNext.isAfter(now) ? earliestNext : now, name, nodeId));
+        }
+    }
+
+    private boolean tryLock(String name, LocalDateTime now, Duration lockAtMostFor) {
+        LocalDateTime until = now.plus(lockAtMostFor);
+        int updated = jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ?, locked_at = ?, locked_by = ? "
+                + "WHERE name = ? AND locked_until <= ?", until, now, nodeId, name, now);
+        if (updated > 0) {
+            return true;
+        }
+        // Either held by another node, or the first run of this job on any node
+        return jdbcTemplate.update("INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) "
+                + "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING", name, until, now, nodeId) > 0;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Slice {@code index} of {@code count}; a user belongs to the slice
+     * {@code user_id mod count}.
+     */
+    public record Shard(int index, int count) {
+
+        public static final Shard ALL = new Shard(0, 1);
+
+        public boolean owns(Long userId) {
+            return Math.floorMod(userId, count) == index;
+        }
+
+        /**
+         * Lock name for running this slice of a job, so that each slice has at
+         * most one runner while different slices run in parallel.
+         */
+        public String lockName(String job) {
+            return count == 1 ? job : job + ":" + index + "/" + count;
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + count;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -87,6 +88,17 @@ public class ContextService {
         log.info("Context deleted: {} by user: {}", context.getName(), user.getEmail());
     }
 
+    /**
+     * Loads the given contexts of a user, skipping ids the user does not own.
+     */
+    @Transactional(readOnly = true)
+    public List<ContextDTO> getContextsByIds(Long userId, Collection<Long> ids) {
+        return contextRepository.findByUserIdAndIdIn(userId, ids)
+                .stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     private ContextDTO mapToDTO(Context context) {
         return ContextDTO.builder()
                 .id(context.getId())
@@ -0,0 +1,159 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.notification.DigestItemDTO;
+import com.taskmanager.entity.NotificationPreferences;
+import com.taskmanager.entity.User;
+import com.taskmanager.mail.MailDeliveryService;
+import com.taskmanager.repository.NotificationPreferencesRepository;
+import com.taskmanager.repository.TaskInstanceRepository;
+import com.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the daily digest email to users who enabled it in their notification preferences.
+ * Digest users get no separate reminder emails; their reminders still appear in the app.
+ * <p>
+ * Every run loads all users whose {@code dailyDigestTime} has passed today and
+ * whose {@code lastDigestOn} is before today with one query, then loads the open
+ * tasks and task instances of all of them with one query each, so the cost of a
+ * run does not grow with the number of queries per user. Queuing the mails and
+ * setting {@code lastDigestOn} commit together, so a digest is neither lost to a
+ * late run or a restart nor sent twice on the same day.
+ */
+@Service
+@Slf4j
+public class DailyDigestService {
+
+    private final NotificationPreferencesRepository notificationPreferencesRepository;
+    private final TaskRepository taskRepository;
+    private final TaskInstanceRepository taskInstanceRepository;
+    private final MailDeliveryService mailDeliveryService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.notifications.digest.max-items-per-section:25}")
+    private int maxItemsPerSection;
+
+    public DailyDigestService(NotificationPreferencesRepository notificationPreferencesRepository,
+                              TaskRepository taskRepository,
+                              TaskInstanceRepository taskInstanceRepository,
+                              MailDeliveryService mailDeliveryService,
+                              ClusterCoordinator clusterCoordinator,
+                              PlatformTransactionManager transactionManager) {
+        this.notificationPreferencesRepository = notificationPreferencesRepository;
+        this.taskRepository = taskRepository;
+        this.taskInstanceRepository = taskInstanceRepository;
+        this.mailDeliveryService = mailDeliveryService;
+        this.clusterCoordinator = clusterCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Scheduled job to send the digests that are due.
+     * Runs every minute; each node mails the users of its own shard under the
+     * shard's lease, so two nodes never mail the same shard while the node count
+     * changes. The lease is released only after the transaction committed.
+     */
+    @Scheduled(cron = "0 * * * * *")
+    public void sendDueDigests() {
+        ClusterCoordinator.Shard shard = clusterCoordinator.currentShard();
+        clusterCoordinator.runLocked(shard.lockName("sendDueDigests"), Duration.ofMinutes(5), Duration.ZERO,
+                () -> transactionTemplate.executeWithoutResult(status -> sendDueDigests(shard)));
+    }
+
+    private void sendDueDigests(ClusterCoordinator.Shard shard) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        List<NotificationPreferences> recipients = notificationPreferencesRepository.findDueDigestRecipients(
+                now.toLocalTime(), today, shard.count(), shard.index());
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        sendDigests(recipients.stream().map(NotificationPreferences::getUser).collect(Collectors.toList()), today);
+        // Also for users without open items, so they are not selected again today
+        notificationPreferencesRepository.markDigestSent(
+                recipients.stream().map(NotificationPreferences::getId).collect(Collectors.toList()), today);
+    }
+
+    private void sendDigests(List<User> users, LocalDate today) {
+        List<Long> userIds = users.stream().map(User::getId).collect(Collectors.toList());
+
+        Map<Long, List<DigestItemDTO>> itemsByUser = new HashMap<>();
+        List<DigestItemDTO> items = new ArrayList<>(taskRepository.findOpenDigestItems(userIds, today));
+        items.addAll(taskInstanceRepository.findOpenDigestItems(userIds, today));
+        for (DigestItemDTO item : items) {
+            itemsByUser.computeIfAbsent(item.getUserId(), id -> new ArrayList<>()).add(item);
+        }
+
+        int sent = 0;
+        for (User user : users) {
+            List<DigestItemDTO> userItems = itemsByUser.getOrDefault(user.getId(), List.of());
+            if (userItems.isEmpty()) {
+                continue; // Nothing due or overdue; skip rather than send an empty mail
+            }
+            mailDeliveryService.enqueue(user.getEmail(), "daily-digest", buildModel(user, userItems, today));
+            sent++;
+        }
+        log.info("Queued {} daily digests for {} users", sent, users.size());
+    }
+
+    private Map<String, Object> buildModel(User user, List<DigestItemDTO> items, LocalDate today) {
+        Comparator<DigestItemDTO> order = Comparator.comparing(DigestItemDTO::getDate)
+                .thenComparing(DigestItemDTO::getPriority)
+                .thenComparing(item -> item.getTime() != null ? item.getTime() : LocalTime.MAX);
+
+        List<DigestItemDTO> dueToday = items.stream()
+                .filter(item -> item.getDate().equals(today))
+                .sorted(order)
+                .collect(Collectors.toList());
+        List<DigestItemDTO> overdue = items.stream()
+                .filter(item -> item.getDate().isBefore(today))
+                .sorted(order)
+                .collect(Collectors.toList());
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", user.getFirstName());
+        model.put("date", today);
+        model.put("todaySection", renderSection("Due today", dueToday, false));
+        model.put("overdueSection", renderSection("Overdue", overdue, true));
+        return model;
+    }
+
+    private String renderSection(String heading, List<DigestItemDTO> items, boolean showDate) {
+        if (items.isEmpty()) {
+            return null;
+        }
+        StringBuilder section = new StringBuilder();
+        section.append(heading).append(" (").append(items.size()).append("):\n");
+        for (DigestItemDTO item : items.subList(0, Math.min(items.size(), maxItemsPerSection))) {
+            section.append("- [").append(item.getPriority().name()).append("] ").append(item.getTitle());
+            if (showDate) {
+                section.append(" (due ").append(item.getDate()).append(")");
+            } else if (item.getTime() != null) {
+                section.append(" at ").append(item.getTime());
+            }
+            section.append("\n");
+        }
+        if (items.size() > maxItemsPerSection) {
+            section.append("- ... and ").append(items.size() - maxItemsPerSection).append(" more\n");
+        }
+        return section.toString();
+    }
+}
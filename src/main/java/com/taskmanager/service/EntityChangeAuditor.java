@@ -0,0 +1,268 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskInstance;
+import com.taskmanager.entity.User;
+import com.taskmanager.entity.enums.TaskStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Captures field-level changes of {@link Task}, {@link Project} and
+ * {@link TaskInstance} from Hibernate's dirty state and records them in the
+ * audit log after the transaction commits.
+ * <p>
+ * Only changed fields are written: {@code changedFields} lists their names and
+ * {@code oldValues}/{@code newValues} hold compact JSON objects with the old and
+ * new values. Associations are recorded by id and collections are ignored, so
+ * nothing is lazily loaded. Task and project inserts and deletes are recorded
+ * with their basic fields; task instance inserts come from the scheduler and are
+ * not audited.
+ */
+@Component
+@Slf4j
+public class EntityChangeAuditor implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("createdAt", "updatedAt", "version");
+    private static final int CHANGED_FIELDS_MAX_LENGTH = 255;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+
+    public EntityChangeAuditor(EntityManagerFactory entityManagerFactory,
+                               AuditService auditService,
+                               ObjectMapper objectMapper) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditService = auditService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType == null || event.getEntity() instanceof TaskInstance) {
+            return;
+        }
+        Map<String, Object> values = snapshot(event.getPersister(), event.getState(), event.getSession());
+        auditService.logChange(entityType, toLong(event.getId()), "CREATE", null, null, toJson(values),
+                ownerId(event.getPersister(), event.getState()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType == null || event.getOldState() == null) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        for (int i : dirtyProperties(event)) {
+            if (IGNORED_PROPERTIES.contains(names[i]) || types[i].isCollectionType()) {
+                continue;
+            }
+            String key = propertyKey(names[i], types[i]);
+            oldValues.put(key, render(types[i], oldState[i], event.getSession()));
+            newValues.put(key, render(types[i], state[i], event.getSession()));
+        }
+        if (newValues.isEmpty()) {
+            return;
+        }
+
+        String changedFields = String.join(",", newValues.keySet());
+        if (changedFields.length() > CHANGED_FIELDS_MAX_LENGTH) {
+            changedFields = changedFields.substring(0, CHANGED_FIELDS_MAX_LENGTH);
+        }
+        auditService.logChange(entityType, toLong(event.getId()), action(entityType, newValues),
+                changedFields, toJson(oldValues), toJson(newValues), ownerId(persister, state));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType == null || event.getEntity() instanceof TaskInstance) {
+            return;
+        }
+        Map<String, Object> values = snapshot(event.getPersister(), event.getDeletedState(), event.getSession());
+        auditService.logChange(entityType, toLong(event.getId()), "DELETE", null, toJson(values), null,
+                ownerId(event.getPersister(), event.getDeletedState()));
+    }
+
+    /**
+     * Audits an update written with a plain SQL statement, which Hibernate does not
+     * see. Values are keyed by property name like the listener's; unchanged values
+     * are dropped. The record is written once the transaction commits.
+     */
+    public void recordStatementUpdate(String entityType, Long entityId, Map<String, Object> oldValues,
+                                      Map<String, Object> newValues, Long ownerId) {
+        Map<String, Object> changedOld = new LinkedHashMap<>();
+        Map<String, Object> changedNew = new LinkedHashMap<>();
+        newValues.forEach((key, value) -> {
+            if (!Objects.equals(oldValues.get(key), value)) {
+                changedOld.put(key, oldValues.get(key));
+                changedNew.put(key, value);
+            }
+        });
+        if (changedNew.isEmpty()) {
+            return;
+        }
+        Runnable audit = () -> auditService.logChange(entityType, entityId, action(entityType, changedNew),
+                String.join(",", changedNew.keySet()), toJson(changedOld), toJson(changedNew), ownerId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            audit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                audit.run();
+            }
+        });
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private static String entityType(Object entity) {
+        if (entity instanceof Task) {
+            return "Task";
+        }
+        if (entity instanceof Project) {
+            return "Project";
+        }
+        if (entity instanceof TaskInstance) {
+            return "TaskInstance";
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the action names the services used to write by hand for the common
+     * single-purpose updates.
+     */
+    private static String action(String entityType, Map<String, Object> newValues) {
+        if (entityType.equals("Project") && newValues.size() == 1 && newValues.containsKey("archived")) {
+            return Boolean.TRUE.equals(newValues.get("archived")) ? "ARCHIVE" : "UNARCHIVE";
+        }
+        if (newValues.containsKey("status")) {
+            if (newValues.get("status") == TaskStatus.COMPLETED) {
+                return "COMPLETE";
+            }
+            if (newValues.keySet().stream().allMatch(key -> key.equals("status") || key.equals("completedAt"))) {
+                return "UPDATE_STATUS";
+            }
+        }
+        return "UPDATE";
+    }
+
+    private int[] dirtyProperties(PostUpdateEvent event) {
+        if (event.getDirtyProperties() != null) {
+            return event.getDirtyProperties();
+        }
+        Type[] types = event.getPersister().getPropertyTypes();
+        return IntStream.range(0, types.length)
+                .filter(i -> !types[i].isCollectionType()
+                        && !Objects.equals(render(types[i], event.getOldState()[i], event.getSession()),
+                                render(types[i], event.getState()[i], event.getSession())))
+                .toArray();
+    }
+
+    private Map<String, Object> snapshot(EntityPersister persister, Object[] state, EventSource session) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (IGNORED_PROPERTIES.contains(names[i]) || types[i].isCollectionType() || state[i] == null) {
+                continue;
+            }
+            values.put(propertyKey(names[i], types[i]), render(types[i], state[i], session));
+        }
+        return values;
+    }
+
+    private static String propertyKey(String name, Type type) {
+        return type.isEntityType() ? name + "Id" : name;
+    }
+
+    private static Object render(Type type, Object value, EventSource session) {
+        if (value == null || !type.isEntityType()) {
+            return value;
+        }
+        LazyInitializer lazyInitializer = HibernateProxy.extractLazyInitializer(value);
+        if (lazyInitializer != null) {
+            return lazyInitializer.getInternalIdentifier();
+        }
+        return session.getEntityPersister(null, value).getIdentifier(value, session);
+    }
+
+    private static Long ownerId(EntityPersister persister, Object[] state) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals("user") && state[i] != null) {
+                LazyInitializer lazyInitializer = HibernateProxy.extractLazyInitializer(state[i]);
+                return lazyInitializer != null
+                        ? toLong(lazyInitializer.getInternalIdentifier())
+                        : ((User) state[i]).getId();
+            }
+        }
+        return null;
+    }
+
+    private static Long toLong(Object id) {
+        return id instanceof Number number ? number.longValue() : null;
+    }
+
+    private String toJson(Map<String, Object> values) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize audit values: {}", e.getMessage());
+            return null;
+        }
+    }
+}
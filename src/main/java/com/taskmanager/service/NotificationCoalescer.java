@@ -0,0 +1,196 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.notification.PendingGroupDTO;
+import com.taskmanager.entity.Notification;
+import com.taskmanager.entity.PendingNotification;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.enums.NotificationType;
+import com.taskmanager.repository.NotificationRepository;
+import com.taskmanager.repository.PendingNotificationRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.util.TokenBucketRateLimiter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-user coalescing and rate limiting of notifications.
+ * <p>
+ * Notifications are grouped by user, type and title. The first notification of a
+ * group in a coalescing window is admitted and stored right away. Further ones
+ * within the window are written to {@code pending_notifications} in the caller's
+ * transaction, so they only exist if that transaction commits and survive a
+ * restart. Once the oldest pending notification of a group is a window old, the
+ * group is replaced by a single summary notification in one transaction, so a
+ * storm such as the hourly overdue check costs one row, one outbox entry and one
+ * push per user instead of one per task.
+ * <p>
+ * Every stored notification also takes a permit from a per-user token bucket.
+ * Without a permit the notification is held back and folded into the next summary.
+ */
+@Service
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationRepository notificationRepository;
+    private final PendingNotificationRepository pendingNotificationRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final NotificationOutboxRelay notificationOutboxRelay;
+    private final UnreadCountCache unreadCountCache;
+    private final ClusterCoordinator clusterCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<GroupKey, Long> lastStoredAt = new ConcurrentHashMap<>();
+
+    @Value("${application.notifications.coalescing.window-ms:30000}")
+    private long windowMillis;
+
+    @Value("${application.notifications.coalescing.burst:10}")
+    private int burst;
+
+    @Value("${application.notifications.coalescing.per-user-per-minute:6}")
+    private int perUserPerMinute;
+
+    @Value("${application.notifications.coalescing.max-listed-items:10}")
+    private int maxListedItems;
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 PendingNotificationRepository pendingNotificationRepository,
+                                 UserRepository userRepository,
+                                 TaskRepository taskRepository,
+                                 NotificationOutboxRelay notificationOutboxRelay,
+                                 UnreadCountCache unreadCountCache,
+                                 ClusterCoordinator clusterCoordinator,
+                                 PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.pendingNotificationRepository = pendingNotificationRepository;
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.notificationOutboxRelay = notificationOutboxRelay;
+        this.unreadCountCache = unreadCountCache;
+        this.clusterCoordinator = clusterCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new TokenBucketRateLimiter(burst, perUserPerMinute);
+    }
+
+    /**
+     * Decides whether a notification may be stored immediately, and otherwise
+     * holds it back. Must run inside the transaction of the event that caused
+     * the notification, so a rollback also drops the held-back notification.
+     *
+     * @return {@code true} if the caller should store the notification now;
+     *         {@code false} if it was held back and will be stored as part of a summary
+     */
+    public boolean admit(Long userId, Long taskId, String title, String message, NotificationType type) {
+        GroupKey key = new GroupKey(userId, type, title);
+        long now = System.currentTimeMillis();
+        boolean[] admitted = {false};
+        lastStoredAt.compute(key, (k, last) -> {
+            if ((last == null || now - last >= windowMillis) && rateLimiter.tryAcquire(userId.toString()) == 0) {
+                admitted[0] = true;
+                return now;
+            }
+            return last;
+        });
+        if (admitted[0]) {
+            return true;
+        }
+        pendingNotificationRepository.save(PendingNotification.builder()
+                .userId(userId)
+                .taskId(taskId)
+                .notificationType(type)
+                .title(title)
+                .message(message)
+                .build());
+        return false;
+    }
+
+    /**
+     * Stores a summary for every group whose coalescing window has closed.
+     * Runs under a cluster lease, so only one node flushes at a time.
+     */
+    @Scheduled(fixedDelayString = "${application.notifications.coalescing.flush-interval-ms:5000}")
+    public void flushPending() {
+        clusterCoordinator.runLocked("flushCoalescedNotifications", Duration.ofMinutes(5), Duration.ZERO, this::flush);
+    }
+
+    private void flush() {
+        long now = System.currentTimeMillis();
+        lastStoredAt.values().removeIf(last -> now - last > windowMillis * 10); // idle; drop per-group state
+
+        List<PendingGroupDTO> due = pendingNotificationRepository.findDueGroups(
+                LocalDateTime.now().minus(Duration.ofMillis(windowMillis)));
+        int stored = 0;
+        for (PendingGroupDTO group : due) {
+            GroupKey key = new GroupKey(group.getUserId(), group.getType(), group.getTitle());
+            if (rateLimiter.tryAcquire(key.userId().toString()) != 0) {
+                continue; // Stays pending until the user has a permit again
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> store(key));
+                lastStoredAt.put(key, now);
+                stored++;
+            } catch (Exception e) {
+                // Rolled back; the group is still pending and retried on the next flush
+                log.error("Failed to store coalesced notification for user {}: {}", key.userId(), e.getMessage());
+            }
+        }
+        if (stored > 0) {
+            log.debug("Stored {} coalesced notifications", stored);
+        }
+    }
+
+    private void store(GroupKey key) {
+        List<PendingNotification> pending = pendingNotificationRepository.findGroup(key.userId(), key.type(), key.title());
+        if (pending.isEmpty()) {
+            return;
+        }
+        int count = pending.size();
+        Notification.NotificationBuilder builder = Notification.builder()
+                .user(userRepository.getReferenceById(key.userId()))
+                .type(key.type())
+                .coalescedCount(count);
+
+        if (count == 1) {
+            PendingNotification item = pending.get(0);
+            Task task = item.getTaskId() != null ? taskRepository.findById(item.getTaskId()).orElse(null) : null;
+            builder.title(key.title()).message(item.getMessage()).task(task);
+        } else {
+            List<PendingNotification> listed = pending.subList(0, Math.min(count, maxListedItems));
+            StringBuilder message = new StringBuilder();
+            message.append(count).append(" notifications:");
+            for (PendingNotification item : listed) {
+                message.append("\n- ").append(item.getMessage());
+            }
+            if (count > listed.size()) {
+                message.append("\n- ... and ").append(count - listed.size()).append(" more");
+            }
+            builder.title(key.title() + " (" + count + ")").message(message.toString());
+        }
+
+        pendingNotificationRepository.deleteAllInBatch(pending);
+        Notification notification = notificationRepository.save(builder.build());
+        notificationOutboxRelay.enqueue(notification, null, null);
+        unreadCountCache.increment(key.userId());
+    }
+
+    private record GroupKey(Long userId, NotificationType type, String title) {
+    }
+}
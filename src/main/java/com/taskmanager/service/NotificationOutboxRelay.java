@@ -0,0 +1,229 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Notification;
+import com.taskmanager.entity.NotificationOutbox;
+import com.taskmanager.entity.Reminder;
+import com.taskmanager.entity.enums.OutboxStatus;
+import com.taskmanager.observer.NotificationSubject;
+import com.taskmanager.repository.NotificationOutboxRepository;
+import com.taskmanager.repository.NotificationRepository;
+import com.taskmanager.repository.ReminderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox relay for notifications.
+ * <p>
+ * Notifications are written together with an outbox row inside the caller's
+ * transaction. This relay drains due rows in batches after commit, dispatches
+ * them to the observers without holding a database connection, and records the
+ * outcome in a second short transaction. Failed deliveries are retried with
+ * exponential backoff, for the failed observers only; an observer sees a
+ * notification again only if the outcome of its delivery could not be recorded.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final ReminderRepository reminderRepository;
+    private final NotificationSubject notificationSubject;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${application.notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${application.notifications.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${application.notifications.outbox.backoff-initial-ms:2000}")
+    private long backoffInitialMillis;
+
+    @Value("${application.notifications.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMillis;
+
+    @Value("${application.notifications.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   NotificationRepository notificationRepository,
+                                   ReminderRepository reminderRepository,
+                                   NotificationSubject notificationSubject,
+                                   PlatformTransactionManager transactionManager,
+                                   ClusterCoordinator clusterCoordinator) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.reminderRepository = reminderRepository;
+        this.notificationSubject = notificationSubject;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    /**
+     * Records a pending delivery. Must run inside the transaction that persisted
+     * the notification so both rows commit or roll back together.
+     */
+    @Transactional
+    public void enqueue(Notification notification, Reminder reminder, String message) {
+        NotificationOutbox entry = NotificationOutbox.builder()
+                .userId(notification.getUser().getId())
+                .notificationId(notification.getId())
+                .reminderId(reminder != null ? reminder.getId() : null)
+                .notificationType(notification.getType())
+                .message(message)
+                .build();
+        outboxRepository.save(entry);
+    }
+
+    /**
+     * Drains the outbox until no full batch of due entries remains.
+     * Runs with a fixed delay, so invocations never overlap on one node, and
+     * under a cluster lease, so only one node relays at a time.
+     */
+    @Scheduled(fixedDelayString = "${application.notifications.outbox.poll-interval-ms:1000}")
+    public void relayPendingNotifications() {
+        clusterCoordinator.runLocked("relayPendingNotifications", Duration.ofMinutes(5), Duration.ZERO, () -> {
+            int processed;
+            do {
+                processed = relayBatch();
+            } while (processed == batchSize);
+        });
+    }
+
+    /**
+     * Scheduled job to purge delivered outbox entries.
+     * Runs daily at 03:30.
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeDeliveredEntries() {
+        clusterCoordinator.runLocked("purgeDeliveredEntries", Duration.ofHours(1), Duration.ofMinutes(5),
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    int deleted = outboxRepository.deleteDeliveredBefore(LocalDateTime.now().minusDays(retentionDays));
+                    if (deleted > 0) {
+                        log.info("Purged {} delivered notification outbox entries", deleted);
+                    }
+                }));
+    }
+
+    private int relayBatch() {
+        List<OutboxDelivery> batch = transactionTemplate.execute(status -> loadDueBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        Map<Long, String> failed = new HashMap<>();
+        Map<Long, Set<String>> deliveredObservers = new HashMap<>();
+        for (OutboxDelivery delivery : batch) {
+            if (delivery.notification() == null) {
+                // Notification was deleted before delivery; nothing left to send
+                delivered.add(delivery.outboxId());
+                continue;
+            }
+            Set<String> observers = new HashSet<>(delivery.deliveredObservers());
+            try {
+                notificationSubject.deliver(delivery.notification().getUser(), delivery.notification(),
+                        delivery.reminder(), delivery.message(), observers);
+                delivered.add(delivery.outboxId());
+            } catch (Exception e) {
+                failed.put(delivery.outboxId(), e.getMessage());
+                deliveredObservers.put(delivery.outboxId(), observers);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(delivered, failed, deliveredObservers));
+
+        if (!failed.isEmpty()) {
+            log.warn("Notification outbox batch: {} delivered, {} failed", delivered.size(), failed.size());
+        } else {
+            log.debug("Notification outbox batch: {} delivered", delivered.size());
+        }
+        return batch.size();
+    }
+
+    private List<OutboxDelivery> loadDueBatch() {
+        List<NotificationOutbox> entries = outboxRepository.findDueEntries(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> notificationIds = entries.stream()
+                .map(NotificationOutbox::getNotificationId)
+                .collect(Collectors.toSet());
+        Set<Long> reminderIds = entries.stream()
+                .map(NotificationOutbox::getReminderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        // Fetch everything the observers touch now, so they can run detached
+        Map<Long, Notification> notifications = notificationRepository.findAllWithUserAndTaskByIdIn(notificationIds)
+                .stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+        Map<Long, Reminder> reminders = reminderIds.isEmpty()
+                ? Map.of()
+                : reminderRepository.findAllWithTaskByIdIn(reminderIds)
+                        .stream()
+                        .collect(Collectors.toMap(Reminder::getId, Function.identity()));
+
+        return entries.stream()
+                .map(entry -> new OutboxDelivery(
+                        entry.getId(),
+                        notifications.get(entry.getNotificationId()),
+                        entry.getReminderId() != null ? reminders.get(entry.getReminderId()) : null,
+                        entry.getMessage(),
+                        entry.getDeliveredObserverNames()))
+                .collect(Collectors.toList());
+    }
+
+    private void recordOutcomes(List<Long> delivered, Map<Long, String> failed,
+                                Map<Long, Set<String>> deliveredObservers) {
+        List<Long> ids = new ArrayList<>(delivered);
+        ids.addAll(failed.keySet());
+
+        List<NotificationOutbox> entries = outboxRepository.findAllById(ids);
+        for (NotificationOutbox entry : entries) {
+            String error = failed.get(entry.getId());
+            if (error == null) {
+                entry.markAsDelivered();
+            } else {
+                entry.setDeliveredObserverNames(deliveredObservers.get(entry.getId()));
+                entry.recordFailure(error, backoffFor(entry.getAttempts()), maxAttempts);
+                if (entry.getStatus() != OutboxStatus.PENDING) {
+                    log.error("Giving up on notification outbox entry {} after {} attempts: {}",
+                            entry.getId(), entry.getAttempts(), error);
+                }
+            }
+        }
+        outboxRepository.saveAll(entries);
+    }
+
+    private long backoffFor(int attempts) {
+        long backoff = backoffInitialMillis << Math.min(attempts, 20);
+        return Math.min(backoff, backoffMaxMillis);
+    }
+
+    private record OutboxDelivery(Long outboxId, Notification notification, Reminder reminder, String message,
+                                  Set<String> deliveredObservers) {
+    }
+}
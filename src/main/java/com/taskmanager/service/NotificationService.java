@@ -1,40 +1,106 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.notification.NotificationDTO;
+import com.taskmanager.dto.notification.NotificationPageDTO;
 import com.taskmanager.entity.Notification;
 import com.taskmanager.entity.Reminder;
 import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskInstance;
 import com.taskmanager.entity.User;
 import com.taskmanager.entity.enums.NotificationType;
+import com.taskmanager.entity.enums.TaskStatus;
 import com.taskmanager.exception.ResourceNotFoundException;
-import com.taskmanager.observer.NotificationSubject;
+import com.taskmanager.exception.ValidationException;
+import com.taskmanager.mail.MailTemplateRegistry;
+import com.taskmanager.metrics.JobMetrics;
+import com.taskmanager.repository.NotificationPreferencesRepository;
 import com.taskmanager.repository.NotificationRepository;
 import com.taskmanager.repository.ReminderRepository;
 import com.taskmanager.repository.TaskRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationPreferencesRepository notificationPreferencesRepository;
     private final ReminderRepository reminderRepository;
     private final TaskRepository taskRepository;
     private final UserService userService;
-    private final NotificationSubject notificationSubject;
+    private final NotificationOutboxRelay notificationOutboxRelay;
+    private final NotificationCoalescer notificationCoalescer;
+    private final UnreadCountCache unreadCountCache;
+    private final ChangeFeedRecorder changeFeedRecorder;
     private final JavaMailSender mailSender;
+    private final MailTemplateRegistry mailTemplateRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final JobMetrics jobMetrics;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${application.notifications.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${application.notifications.retention.read-days:90}")
+    private int retentionDays;
+
+    @Value("${application.notifications.retention.chunk-size:1000}")
+    private int retentionChunkSize;
+
+    @Value("${application.notifications.reminders.mode:scan}")
+    private String reminderMode;
+
+    @Value("${application.notifications.reminders.batch-size:100}")
+    private int reminderBatchSize;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationPreferencesRepository notificationPreferencesRepository,
+                               ReminderRepository reminderRepository,
+                               TaskRepository taskRepository,
+                               UserService userService,
+                               NotificationOutboxRelay notificationOutboxRelay,
+                               NotificationCoalescer notificationCoalescer,
+                               UnreadCountCache unreadCountCache,
+                               ChangeFeedRecorder changeFeedRecorder,
+                               JavaMailSender mailSender,
+                               MailTemplateRegistry mailTemplateRegistry,
+                               PlatformTransactionManager transactionManager,
+                               JobMetrics jobMetrics,
+                               ClusterCoordinator clusterCoordinator) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPreferencesRepository = notificationPreferencesRepository;
+        this.reminderRepository = reminderRepository;
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+        this.notificationOutboxRelay = notificationOutboxRelay;
+        this.notificationCoalescer = notificationCoalescer;
+        this.unreadCountCache = unreadCountCache;
+        this.changeFeedRecorder = changeFeedRecorder;
+        this.mailSender = mailSender;
+        this.mailTemplateRegistry = mailTemplateRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobMetrics = jobMetrics;
+        this.clusterCoordinator = clusterCoordinator;
+    }
 
     @Transactional(readOnly = true)
     public List<NotificationDTO> getAllNotifications() {
@@ -45,6 +111,30 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one page of notifications, newest first, using keyset pagination.
+     * Without a cursor the first page is returned.
+     */
+    @Transactional(readOnly = true)
+    public NotificationPageDTO getNotificationPage(LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        Long userId = userService.getCurrentUserId();
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Notification> rows = beforeCreatedAt != null && beforeId != null
+                ? notificationRepository.findPageBefore(userId, beforeCreatedAt, beforeId, page)
+                : notificationRepository.findFirstPage(userId, page);
+
+        boolean hasMore = rows.size() > size;
+        List<Notification> items = hasMore ? rows.subList(0, size) : rows;
+        Notification last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return NotificationPageDTO.builder()
+                .items(items.stream().map(this::mapToDTO).collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .nextBeforeCreatedAt(hasMore ? last.getCreatedAt() : null)
+                .nextBeforeId(hasMore ? last.getId() : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<NotificationDTO> getUnreadNotifications() {
         User user = userService.getCurrentUser();
@@ -54,19 +144,19 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public long getUnreadCount() {
-        User user = userService.getCurrentUser();
-        return notificationRepository.countByUserIdAndReadFalse(user.getId());
+        return unreadCountCache.get(userService.getCurrentUserId());
     }
 
     @Transactional
     public NotificationDTO acknowledgeNotification(Long id) {
         User user = userService.getCurrentUser();
-        Notification notification = notificationRepository.findById(id)
-                .filter(n -> n.getUser().getId().equals(user.getId()))
+        Notification notification = notificationRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
 
+        if (!notification.isRead()) {
+            unreadCountCache.decrement(user.getId());
+        }
         notification.markAsRead();
         notification = notificationRepository.save(notification);
 
@@ -76,23 +166,96 @@ public class NotificationService {
     @Transactional
     public void deleteNotification(Long id) {
         User user = userService.getCurrentUser();
-        Notification notification = notificationRepository.findById(id)
-                .filter(n -> n.getUser().getId().equals(user.getId()))
+        Notification notification = notificationRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
 
+        if (!notification.isRead()) {
+            unreadCountCache.decrement(user.getId());
+        }
         notificationRepository.delete(notification);
         log.info("Notification {} deleted by user {}", id, user.getEmail());
     }
 
+    /**
+     * Marks every unread notification of the current user as read with a single UPDATE.
+     *
+     * @return the number of notifications marked as read
+     */
+    @Transactional
+    public int markAllAsRead() {
+        Long userId = userService.getCurrentUserId();
+        int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        changeFeedRecorder.recordBulkChange(userId, "Notification");
+        unreadCountCache.reset(userId, 0);
+        log.info("Marked {} notifications as read for user {}", updated, userId);
+        return updated;
+    }
+
+    /**
+     * Deletes the current user's notifications read more than the given number
+     * of days ago with a single DELETE, by the same rule as the retention job.
+     *
+     * @return the number of notifications deleted
+     */
+    @Transactional
+    public int deleteReadOlderThan(int days) {
+        if (days < 0) {
+            throw new ValidationException("days must not be negative");
+        }
+        Long userId = userService.getCurrentUserId();
+        int deleted = notificationRepository.deleteReadBefore(userId, LocalDateTime.now().minusDays(days));
+        changeFeedRecorder.recordBulkChange(userId, "Notification");
+        log.info("Deleted {} read notifications older than {} days for user {}", deleted, days, userId);
+        return deleted;
+    }
+
+    /**
+     * Scheduled job to delete read notifications past the retention period.
+     * Runs daily at 03:45, in bounded chunks with one short transaction each.
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    public void purgeReadNotifications() {
+        clusterCoordinator.runLocked("purgeReadNotifications", Duration.ofHours(1), Duration.ofMinutes(5),
+                this::purgeExpiredReadNotifications);
+    }
+
+    private void purgeExpiredReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        PageRequest chunk = PageRequest.of(0, retentionChunkSize);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = notificationRepository.findReadIdsBefore(cutoff, chunk);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                // Bulk deletes bypass the listeners; bump each owner's feed so
+                // conditional GETs of the notification list stop returning 304
+                for (Long userId : notificationRepository.findUserIdsByIdIn(ids)) {
+                    changeFeedRecorder.recordBulkChange(userId, "Notification");
+                }
+                return notificationRepository.deleteByIdIn(ids);
+            });
+            total += deleted;
+        } while (deleted == retentionChunkSize);
+
+        if (total > 0) {
+            log.info("Purged {} read notifications older than {} days", total, retentionDays);
+        }
+    }
+
     @Transactional
     public void snoozeNotification(Long id, int minutes) {
         User user = userService.getCurrentUser();
-        Notification notification = notificationRepository.findById(id)
-                .filter(n -> n.getUser().getId().equals(user.getId()))
+        Notification notification = notificationRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
 
         // Mark as read for now (it will "reappear" as a new notification after snooze
         // time)
+        if (!notification.isRead()) {
+            unreadCountCache.decrement(user.getId());
+        }
         notification.markAsRead();
         notificationRepository.save(notification);
 
@@ -109,8 +272,16 @@ public class NotificationService {
         log.info("Reminder {} snoozed for {} minutes", reminderId, minutes);
     }
 
+    /**
+     * Creates a notification, subject to per-user coalescing and rate limiting.
+     * Notifications held back by the coalescer are stored later as one summary.
+     */
     @Transactional
     public void createNotification(User user, Task task, String title, String message, NotificationType type) {
+        if (!notificationCoalescer.admit(user.getId(), task != null ? task.getId() : null, title, message, type)) {
+            return;
+        }
+
         Notification notification = Notification.builder()
                 .user(user)
                 .task(task)
@@ -120,88 +291,196 @@ public class NotificationService {
                 .build();
 
         notification = notificationRepository.save(notification);
-        notificationSubject.notifyObservers(user, notification);
+        notificationOutboxRelay.enqueue(notification, null, null);
+        unreadCountCache.increment(user.getId());
     }
 
     /**
      * Scheduled job to process pending reminders.
-     * Runs every minute.
+     * Runs every minute; with several nodes each one handles the reminders of
+     * its own shard of users. Off when {@code reminders.mode} is {@code queue}.
+     * Due reminders are processed {@code reminders.batch-size} at a time, each
+     * batch in its own transaction, so the job holds a connection only while a
+     * batch is written.
      */
     @Scheduled(fixedRate = 60000)
-    @Transactional
     public void processPendingReminders() {
-        LocalDateTime now = LocalDateTime.now();
-        List<Reminder> pendingReminders = reminderRepository.findPendingReminders(now);
+        if ("queue".equalsIgnoreCase(reminderMode)) {
+            return; // Claimed and processed by ReminderWorkerPool instead
+        }
+        ClusterCoordinator.Shard shard = clusterCoordinator.currentShard();
+        clusterCoordinator.runLocked(shard.lockName("processPendingReminders"), Duration.ofMinutes(10),
+                Duration.ofSeconds(30),
+                () -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    processReminders(now, reminderRepository.findPendingReminderIds(now, shard.count(), shard.index()));
+                });
+    }
+
+    /**
+     * Processes a batch of reminders claimed by a {@link ReminderWorkerPool}
+     * worker, in one short transaction.
+     *
+     * @return the number of reminders in the batch
+     */
+    public int processClaimedReminders(Collection<Long> reminderIds) {
+        return processReminders(LocalDateTime.now(), List.copyOf(reminderIds));
+    }
+
+    private int processReminders(LocalDateTime now, List<Long> reminderIds) {
+        JobMetrics.Run run = jobMetrics.start("processPendingReminders");
+        try {
+            LocalDateTime oldestDue = now;
+            for (int from = 0; from < reminderIds.size(); from += reminderBatchSize) {
+                List<Long> batch = reminderIds.subList(from, Math.min(from + reminderBatchSize, reminderIds.size()));
+                try {
+                    LocalDateTime batchOldestDue = transactionTemplate.execute(status -> processReminderBatch(batch, now));
+                    if (batchOldestDue != null && batchOldestDue.isBefore(oldestDue)) {
+                        oldestDue = batchOldestDue;
+                    }
+                } catch (RuntimeException e) {
+                    // Rolled back; the batch's reminders are still unsent and come up again
+                    log.error("Failed to process batch of {} reminders: {}", batch.size(), e.getMessage());
+                }
+            }
 
-        for (Reminder reminder : pendingReminders) {
+            if (!reminderIds.isEmpty()) {
+                log.info("Processed {} pending reminders", reminderIds.size());
+            }
+            run.success(reminderIds.size(), Duration.between(oldestDue, now));
+            return reminderIds.size();
+        } catch (RuntimeException e) {
+            run.failure();
+            throw e;
+        }
+    }
+
+    /**
+     * @return when the earliest reminder of the batch was due
+     */
+    private LocalDateTime processReminderBatch(List<Long> reminderIds, LocalDateTime now) {
+        LocalDateTime oldestDue = now;
+        List<Reminder> reminders = reminderRepository.findAllWithTaskByIdIn(reminderIds);
+        Set<Long> digestUserIds = reminders.isEmpty()
+                ? Set.of()
+                : new HashSet<>(notificationPreferencesRepository.findDigestUserIds(reminders.stream()
+                        .map(reminder -> reminder.getTask().getUser().getId())
+                        .collect(Collectors.toSet())));
+        for (Reminder reminder : reminders) {
+            LocalDateTime due = reminder.getSnoozedUntil() != null ? reminder.getSnoozedUntil() : reminder.getRemindAt();
+            if (due.isBefore(oldestDue)) {
+                oldestDue = due;
+            }
             try {
-                processReminder(reminder);
+                processReminder(reminder, digestUserIds.contains(reminder.getTask().getUser().getId()));
             } catch (Exception e) {
                 log.error("Failed to process reminder {}: {}", reminder.getId(), e.getMessage());
             }
         }
-
-        if (!pendingReminders.isEmpty()) {
-            log.info("Processed {} pending reminders", pendingReminders.size());
-        }
+        return oldestDue;
     }
 
     /**
      * Scheduled job to check for overdue tasks.
-     * Runs every hour.
+     * Runs every hour, split into user shards like the reminders.
      */
     @Scheduled(cron = "0 0 * * * *")
-    @Transactional
     public void checkOverdueTasks() {
-        log.info("Checking for overdue tasks...");
-
-        List<Task> allTasks = taskRepository.findAll();
-        LocalDate today = LocalDate.now();
-
-        for (Task task : allTasks) {
-            if (task.isOverdue()) {
-                User user = task.getUser();
-                createNotification(
-                        user,
-                        task,
-                        "Task Overdue",
-                        String.format("Task '%s' is overdue. Due date was: %s",
-                                task.getTitle(), task.getDueDate()),
-                        NotificationType.POPUP);
+        ClusterCoordinator.Shard shard = clusterCoordinator.currentShard();
+        clusterCoordinator.runLocked(shard.lockName("checkOverdueTasks"), Duration.ofMinutes(30),
+                Duration.ofMinutes(5),
+                () -> transactionTemplate.executeWithoutResult(status -> checkOverdueTasks(shard)));
+    }
+
+    private void checkOverdueTasks(ClusterCoordinator.Shard shard) {
+        log.info("Checking for overdue tasks in shard {}...", shard);
+        JobMetrics.Run run = jobMetrics.start("checkOverdueTasks");
+        try {
+            List<Task> candidates = taskRepository.findOverdueCandidates(LocalDate.now(), shard.count(), shard.index());
+
+            int overdue = 0;
+            for (Task task : candidates) {
+                if (task.isOverdue()) {
+                    User user = task.getUser();
+                    createNotification(
+                            user,
+                            task,
+                            "Task Overdue",
+                            String.format("Task '%s' is overdue. Due date was: %s",
+                                    task.getTitle(), task.getDueDate()),
+                            NotificationType.POPUP);
+                    overdue++;
+                }
             }
+            run.success(overdue);
+        } catch (RuntimeException e) {
+            run.failure();
+            throw e;
         }
     }
 
-    private void processReminder(Reminder reminder) {
+    /**
+     * @param digestUser whether the user gets the daily digest, which replaces
+     *                   reminder emails; the reminder then only appears in the app
+     */
+    private void processReminder(Reminder reminder, boolean digestUser) {
+        // Claim first; a node that joined or left since the shard was computed may
+        // be working on the same reminder
+        if (reminderRepository.markSent(reminder.getId(), LocalDateTime.now()) == 0) {
+            return;
+        }
         Task task = reminder.getTask();
         User user = task.getUser();
+        TaskInstance instance = reminder.getTaskInstance();
+        // The sent flag is part of the task and instance responses
+        changeFeedRecorder.recordChange(user.getId(), "Task", task.getId());
+        if (instance != null) {
+            changeFeedRecorder.recordChange(user.getId(), "TaskInstance", instance.getId());
+        }
+        if (instance != null && (instance.getStatus() == TaskStatus.COMPLETED
+                || instance.getStatus() == TaskStatus.CANCELLED)) {
+            return; // Instance was done before its reminder came due
+        }
+        LocalDate dueDate = instance != null ? instance.getScheduledDate() : task.getDueDate();
 
         String message = String.format("Reminder: Task '%s' is due %s",
                 task.getTitle(),
-                task.getDueDate() != null ? "on " + task.getDueDate() : "soon");
+                dueDate != null ? "on " + dueDate : "soon");
 
         if (reminder.getLeadTimeMinutes() != null) {
             message = String.format("Reminder: Task '%s' is due in %d minutes",
                     task.getTitle(), reminder.getLeadTimeMinutes());
         }
 
+        NotificationType type = reminder.getNotificationType();
+        if (digestUser && type != NotificationType.POPUP) {
+            type = NotificationType.POPUP;
+        }
+
         // Create notification record
         Notification notification = Notification.builder()
                 .user(user)
                 .task(task)
                 .title("Task Reminder")
                 .message(message)
-                .type(reminder.getNotificationType())
+                .type(type)
                 .build();
-        notificationRepository.save(notification);
+        notification = notificationRepository.save(notification);
+        unreadCountCache.increment(user.getId());
 
-        // Notify through observers
-        notificationSubject.notifyObservers(user, reminder, message,
-                reminder.getNotificationType().name());
+        // Observers are notified by the outbox relay once this transaction commits
+        notificationOutboxRelay.enqueue(notification, reminder, message);
+    }
 
-        // Mark reminder as sent
-        reminder.markAsSent();
-        reminderRepository.save(reminder);
+    /**
+     * Loads the given notifications of a user, skipping ids the user does not own.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getNotificationsByIds(Long userId, Collection<Long> ids) {
+        return notificationRepository.findByUserIdAndIdIn(userId, ids)
+                .stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
     }
 
     private NotificationDTO mapToDTO(Notification notification) {
@@ -210,6 +489,7 @@ public class NotificationService {
                 .title(notification.getTitle())
                 .message(notification.getMessage())
                 .type(notification.getType().name())
+                .coalescedCount(notification.getCoalescedCount())
                 .read(notification.isRead())
                 .readAt(notification.getReadAt())
                 .createdAt(notification.getCreatedAt())
@@ -227,10 +507,15 @@ public class NotificationService {
         User user = userService.getCurrentUser();
 
         try {
+            MailTemplateRegistry.RenderedMail mail = mailTemplateRegistry.render("test-email", Map.of(
+                    "firstName", user.getFirstName(),
+                    "email", user.getEmail(),
+                    "sentAt", LocalDateTime.now()));
+
             SimpleMailMessage mailMessage = new SimpleMailMessage();
             mailMessage.setTo(user.getEmail());
-            mailMessage.setSubject("Test Email from Task Manager");
-            mailMessage.setText(buildTestEmailContent(user));
+            mailMessage.setSubject(mail.subject());
+            mailMessage.setText(mail.body());
 
             mailSender.send(mailMessage);
             log.info("Test email sent successfully to {}", user.getEmail());
@@ -240,17 +525,4 @@ public class NotificationService {
             throw new RuntimeException("Failed to send email: " + e.getMessage());
         }
     }
-
-    private String buildTestEmailContent(User user) {
-        StringBuilder content = new StringBuilder();
-        content.append("Hello ").append(user.getFirstName()).append(",\n\n");
-        content.append("This is a test email from your Task Manager application.\n\n");
-        content.append("If you received this email, your email configuration is working correctly!\n\n");
-        content.append("Configuration Details:\n");
-        content.append("- Email: ").append(user.getEmail()).append("\n");
-        content.append("- Sent at: ").append(LocalDateTime.now()).append("\n\n");
-        content.append("Best regards,\n");
-        content.append("Smart Task Manager");
-        return content.toString();
-    }
 }
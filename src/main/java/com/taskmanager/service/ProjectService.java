@@ -5,24 +5,27 @@ import com.taskmanager.dto.project.ProjectDTO;
 import com.taskmanager.dto.project.UpdateProjectRequest;
 import com.taskmanager.entity.Project;
 import com.taskmanager.entity.User;
+import com.taskmanager.exception.ConflictException;
 import com.taskmanager.exception.ResourceNotFoundException;
 import com.taskmanager.repository.ProjectRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("taskmanager.service")
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService;
-    private final AuditService auditService;
 
     @Transactional(readOnly = true)
     public List<ProjectDTO> getAllProjects() {
@@ -65,18 +68,18 @@ public class ProjectService {
         project = projectRepository.save(project);
         log.info("Project created: {} by user: {}", project.getName(), user.getEmail());
 
-        auditService.logAction("Project", project.getId(), "CREATE", null, project.toString());
-
         return mapToDTO(project);
     }
 
     @Transactional
-    public ProjectDTO updateProject(Long id, UpdateProjectRequest request) {
+    public ProjectDTO updateProject(Long id, UpdateProjectRequest request, Long expectedVersion) {
         User user = userService.getCurrentUser();
         Project project = projectRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
-
-        String oldValues = project.toString();
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new ConflictException("Project has been modified since version " + expectedVersion,
+                    mapToDTO(project));
+        }
 
         if (request.getName() != null) {
             project.setName(request.getName());
@@ -91,11 +94,10 @@ public class ProjectService {
             project.setDueDate(request.getDueDate());
         }
 
-        project = projectRepository.save(project);
+        // Flush so the response carries the new version and conflicts surface here
+        project = projectRepository.saveAndFlush(project);
         log.info("Project updated: {} by user: {}", project.getName(), user.getEmail());
 
-        auditService.logAction("Project", project.getId(), "UPDATE", oldValues, project.toString());
-
         return mapToDTO(project);
     }
 
@@ -105,8 +107,6 @@ public class ProjectService {
         Project project = projectRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
 
-        auditService.logAction("Project", project.getId(), "DELETE", project.toString(), null);
-
         projectRepository.delete(project);
         log.info("Project deleted: {} by user: {}", project.getName(), user.getEmail());
     }
@@ -121,8 +121,6 @@ public class ProjectService {
         project = projectRepository.save(project);
         log.info("Project archived: {} by user: {}", project.getName(), user.getEmail());
 
-        auditService.logAction("Project", project.getId(), "ARCHIVE", "archived=false", "archived=true");
-
         return mapToDTO(project);
     }
 
@@ -136,11 +134,20 @@ public class ProjectService {
         project = projectRepository.save(project);
         log.info("Project unarchived: {} by user: {}", project.getName(), user.getEmail());
 
-        auditService.logAction("Project", project.getId(), "UNARCHIVE", "archived=true", "archived=false");
-
         return mapToDTO(project);
     }
 
+    /**
+     * Loads the given projects of a user, skipping ids the user does not own.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectDTO> getProjectsByIds(Long userId, Collection<Long> ids) {
+        return projectRepository.findByUserIdAndIdIn(userId, ids)
+                .stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     private ProjectDTO mapToDTO(Project project) {
         return ProjectDTO.builder()
                 .id(project.getId())
@@ -154,6 +161,7 @@ public class ProjectService {
                 .completedTasks(project.getCompletedTasks())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
+                .version(project.getVersion())
                 .build();
     }
 }
@@ -2,32 +2,62 @@ package com.taskmanager.service;
 
 import com.taskmanager.entity.RecurrencePattern;
 import com.taskmanager.entity.RecurringTask;
+import com.taskmanager.entity.Reminder;
 import com.taskmanager.entity.TaskInstance;
 import com.taskmanager.entity.enums.RecurrenceFrequency;
+import com.taskmanager.metrics.JobMetrics;
+import com.taskmanager.repository.ReminderRepository;
 import com.taskmanager.repository.TaskInstanceRepository;
 import com.taskmanager.repository.TaskRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RecurringTaskService {
 
     private final TaskInstanceRepository taskInstanceRepository;
     private final TaskRepository taskRepository;
+    private final ReminderRepository reminderRepository;
+    private final JobMetrics jobMetrics;
+    private final ClusterCoordinator clusterCoordinator;
+    private final TransactionTemplate transactionTemplate;
     
     private static final int DEFAULT_INSTANCES_TO_GENERATE = 30; // Generate 30 days worth
 
+    @Value("${application.notifications.reminders.horizon-hours:48}")
+    private long reminderHorizonHours;
+
+    public RecurringTaskService(TaskInstanceRepository taskInstanceRepository,
+                                TaskRepository taskRepository,
+                                ReminderRepository reminderRepository,
+                                JobMetrics jobMetrics,
+                                ClusterCoordinator clusterCoordinator,
+                                PlatformTransactionManager transactionManager) {
+        this.taskInstanceRepository = taskInstanceRepository;
+        this.taskRepository = taskRepository;
+        this.reminderRepository = reminderRepository;
+        this.jobMetrics = jobMetrics;
+        this.clusterCoordinator = clusterCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     @Transactional
     public void generateTaskInstances(RecurringTask task) {
         RecurrencePattern pattern = task.getRecurrencePattern();
@@ -119,26 +149,123 @@ public class RecurringTaskService {
 
     /**
      * Scheduled job to generate task instances for upcoming recurring tasks.
-     * Runs daily at midnight.
+     * Runs daily at midnight; with several nodes each one generates the
+     * instances of its own shard of users. Every task gets its own short
+     * transaction, so a failing task does not roll back the others and the
+     * job holds a connection only while one task is written.
      */
     @Scheduled(cron = "0 0 0 * * *")
-    @Transactional
     public void generateUpcomingTaskInstances() {
-        log.info("Running scheduled task instance generation...");
-        
-        List<RecurringTask> recurringTasks = taskRepository.findAll().stream()
-                .filter(task -> task instanceof RecurringTask)
-                .map(task -> (RecurringTask) task)
-                .toList();
-
-        for (RecurringTask task : recurringTasks) {
-            try {
-                generateTaskInstances(task);
-            } catch (Exception e) {
-                log.error("Failed to generate instances for task: {}", task.getId(), e);
+        ClusterCoordinator.Shard shard = clusterCoordinator.currentShard();
+        clusterCoordinator.runLocked(shard.lockName("generateUpcomingTaskInstances"), Duration.ofHours(1),
+                Duration.ofMinutes(5), () -> generateUpcomingTaskInstances(shard));
+    }
+
+    private void generateUpcomingTaskInstances(ClusterCoordinator.Shard shard) {
+        log.info("Running scheduled task instance generation for shard {}...", shard);
+        JobMetrics.Run run = jobMetrics.start("generateUpcomingTaskInstances");
+        try {
+            List<Long> taskIds = taskRepository.findRecurringTaskIds(shard.count(), shard.index());
+
+            for (Long taskId : taskIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> taskRepository.findById(taskId)
+                            .filter(RecurringTask.class::isInstance)
+                            .ifPresent(task -> generateTaskInstances((RecurringTask) task)));
+                } catch (Exception e) {
+                    log.error("Failed to generate instances for task: {}", taskId, e);
+                }
             }
+
+            log.info("Completed scheduled task instance generation for {} recurring tasks", taskIds.size());
+            run.success(taskIds.size());
+        } catch (RuntimeException e) {
+            run.failure();
+            throw e;
         }
+    }
+
+    /**
+     * Scheduled job to create the reminders that entered the reminder horizon,
+     * one per reminder template of a recurring task instance, due the template's
+     * lead time before the instance. Instances that already have a reminder for a
+     * template are skipped, so reruns and overlapping horizons do not duplicate
+     * anything. Only instances due within the horizon plus the longest template
+     * lead time are read, so reminders with a lead time beyond the horizon are
+     * still created before they are due.
+     * Runs every 15 minutes by default, split into user shards.
+     */
+    @Scheduled(fixedDelayString = "${application.notifications.reminders.materialize-interval-ms:900000}")
+    public void materializeInstanceReminders() {
+        ClusterCoordinator.Shard shard = clusterCoordinator.currentShard();
+        clusterCoordinator.runLocked(shard.lockName("materializeInstanceReminders"), Duration.ofMinutes(30),
+                Duration.ofMinutes(1),
+                () -> transactionTemplate.executeWithoutResult(status -> materializeInstanceReminders(shard)));
+    }
+
+    private void materializeInstanceReminders(ClusterCoordinator.Shard shard) {
+        JobMetrics.Run run = jobMetrics.start("materializeInstanceReminders");
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime horizon = now.plusHours(reminderHorizonHours);
+            LocalDateTime lastDue = horizon.plusMinutes(reminderRepository.findMaxTemplateLeadTimeMinutes());
+            List<TaskInstance> instances = taskInstanceRepository.findOpenWithReminderTemplates(
+                    now.toLocalDate(), lastDue.toLocalDate(), shard.count(), shard.index());
+            if (instances.isEmpty()) {
+                run.success(0);
+                return;
+            }
+
+            Map<Long, List<Reminder>> templatesByTask = reminderRepository.findTemplatesByTaskIdIn(
+                            instances.stream().map(instance -> instance.getRecurringTask().getId()).collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.groupingBy(template -> template.getTask().getId()));
+            Set<String> existing = new HashSet<>();
+            for (Reminder reminder : reminderRepository.findByTaskInstanceIdIn(
+                    instances.stream().map(TaskInstance::getId).collect(Collectors.toList()))) {
+                existing.add(materializedKey(reminder.getTaskInstance().getId(), reminder));
+            }
+
+            List<Reminder> reminders = new ArrayList<>();
+            for (TaskInstance instance : instances) {
+                LocalDateTime due = instance.getScheduledTime() != null
+                        ? LocalDateTime.of(instance.getScheduledDate(), instance.getScheduledTime())
+                        : instance.getScheduledDate().atStartOfDay();
+                if (due.isBefore(now)) {
+                    continue;
+                }
+                for (Reminder template : templatesByTask.getOrDefault(instance.getRecurringTask().getId(), List.of())) {
+                    if (existing.contains(materializedKey(instance.getId(), template))) {
+                        continue;
+                    }
+                    int leadMinutes = template.getLeadTimeMinutes() != null ? template.getLeadTimeMinutes() : 0;
+                    if (due.minusMinutes(leadMinutes).isAfter(horizon)) {
+                        continue;
+                    }
+                    reminders.add(Reminder.builder()
+                            .task(instance.getRecurringTask())
+                            .taskInstance(instance)
+                            .leadTimeMinutes(leadMinutes)
+                            .remindAt(due.minusMinutes(leadMinutes))
+                            .notificationType(template.getNotificationType())
+                            .build());
+                }
+            }
+
+            if (!reminders.isEmpty()) {
+                reminderRepository.saveAll(reminders);
+                log.info("Materialized {} reminders for {} recurring task instances in shard {}",
+                        reminders.size(), instances.size(), shard);
+            }
+            run.success(reminders.size());
+        } catch (RuntimeException e) {
+            run.failure();
+            throw e;
+        }
+    }
 
-        log.info("Completed scheduled task instance generation for {} recurring tasks", recurringTasks.size());
+    private static String materializedKey(Long instanceId, Reminder reminder) {
+        int leadMinutes = reminder.getLeadTimeMinutes() != null ? reminder.getLeadTimeMinutes() : 0;
+        return instanceId + ":" + leadMinutes + ":" + reminder.getNotificationType();
     }
 }
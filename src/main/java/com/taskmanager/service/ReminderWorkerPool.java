@@ -0,0 +1,132 @@
+package com.taskmanager.service;
+
+import com.taskmanager.repository.ReminderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work-queue mode for reminders, enabled with
+ * {@code application.notifications.reminders.mode: queue}.
+ * <p>
+ * Each worker thread claims up to {@code batch-size} due reminders with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, stamps them with a claim that
+ * expires after {@code visibility-timeout-ms} and commits, then processes the
+ * batch in a second short transaction that marks them sent. Workers on all
+ * nodes claim from the same table without blocking each other, so throughput
+ * grows with the number of workers. Reminders of a worker that died are
+ * claimed again once its claim expires.
+ */
+@Service
+@Slf4j
+public class ReminderWorkerPool {
+
+    private final ReminderRepository reminderRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Thread> workers = new ArrayList<>();
+
+    @Value("${application.notifications.reminders.mode:scan}")
+    private String mode;
+
+    @Value("${application.notifications.reminders.workers:4}")
+    private int workerCount;
+
+    @Value("${application.notifications.reminders.batch-size:100}")
+    private int batchSize;
+
+    @Value("${application.notifications.reminders.visibility-timeout-ms:300000}")
+    private long visibilityTimeoutMillis;
+
+    @Value("${application.notifications.reminders.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    private volatile boolean running;
+
+    public ReminderWorkerPool(ReminderRepository reminderRepository,
+                              NotificationService notificationService,
+                              PlatformTransactionManager transactionManager) {
+        this.reminderRepository = reminderRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!"queue".equalsIgnoreCase(mode)) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "reminder-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Reminder work queue started with {} workers", workerCount);
+    }
+
+    /**
+     * Stops the workers after their current batch. Claimed but unprocessed
+     * reminders become available again when their claim expires.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                List<Long> batch = transactionTemplate.execute(status -> claimBatch());
+                if (batch == null || batch.isEmpty()) {
+                    Thread.sleep(pollIntervalMillis);
+                    continue;
+                }
+                notificationService.processClaimedReminders(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Reminder worker error: {}", e.getMessage(), e);
+                try {
+                    // Back off instead of spinning while the database is unavailable
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<Long> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = reminderRepository.lockDueReminderIds(now, batchSize);
+        if (!ids.isEmpty()) {
+            reminderRepository.claim(ids, now.plus(Duration.ofMillis(visibilityTimeoutMillis)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskmanager.service;
+
+import com.taskmanager.repository.ChangeLogRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory view of the latest change feed sequence per user and entity type,
+ * used to build ETags without querying the data itself.
+ * <p>
+ * Writes on this node advance the versions right after commit. Unknown entries
+ * are seeded from {@code change_log} once. With several nodes, {@code ttl-ms}
+ * must be set so entries are re-seeded and changes written on other nodes are
+ * picked up within that time; the default keeps entries until restart, which is
+ * only correct on a single node.
+ * <p>
+ * Expired entries are swept periodically, and the map is cleared when it still
+ * holds more than {@code max-entries}; dropping an entry only costs a re-seed.
+ */
+@Component
+public class ResourceVersions {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ConcurrentMap<VersionKey, Version> versions = new ConcurrentHashMap<>();
+
+    @Value("${application.http.etag.version-ttl-ms:0}")
+    private long ttlMillis;
+
+    @Value("${application.http.etag.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${application.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    public ResourceVersions(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    @PostConstruct
+    void validate() {
+        if (clusterEnabled && ttlMillis <= 0) {
+            // Other nodes' writes would never be seen and clients would get stale 304s
+            throw new IllegalStateException(
+                    "application.http.etag.version-ttl-ms must be greater than 0 when application.cluster.enabled is set");
+        }
+    }
+
+    /**
+     * Returns the highest sequence of any change to the given entity types.
+     */
+    public long current(Long userId, Collection<String> entityTypes) {
+        long now = System.currentTimeMillis();
+        long max = 0;
+        for (String entityType : entityTypes) {
+            VersionKey key = new VersionKey(userId, entityType);
+            Version version = versions.get(key);
+            if (version == null || isExpired(version, now)) {
+                // Query outside the map; a query inside compute() would block other keys in the same bin
+                Version loaded = new Version(changeLogRepository.findLatestSeq(userId, entityType), now);
+                // An advance() racing with the query may already hold a higher sequence
+                version = versions.merge(key, loaded, (existing, updated) -> existing.seq() > updated.seq()
+                        ? new Version(existing.seq(), now)
+                        : updated);
+            }
+            max = Math.max(max, version.seq());
+        }
+        return max;
+    }
+
+    /**
+     * Records a committed change. Versions only move forward.
+     */
+    public void advance(Long userId, String entityType, long seq) {
+        versions.merge(new VersionKey(userId, entityType), new Version(seq, System.currentTimeMillis()),
+                (existing, updated) -> existing.seq() >= updated.seq() ? existing : updated);
+    }
+
+    /**
+     * Drops expired entries, and all entries when the map outgrew its bound.
+     */
+    @Scheduled(fixedDelayString = "${application.http.etag.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        if (ttlMillis > 0) {
+            versions.values().removeIf(version -> isExpired(version, now));
+        }
+        if (versions.size() > maxEntries) {
+            versions.clear();
+        }
+    }
+
+    private boolean isExpired(Version version, long now) {
+        return ttlMillis > 0 && now - version.loadedAt() >= ttlMillis;
+    }
+
+    private record VersionKey(Long userId, String entityType) {
+    }
+
+    private record Version(long seq, long loadedAt) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.stats.DashboardStatsDTO;
+import com.taskmanager.dto.stats.TaskCountRow;
+import com.taskmanager.entity.enums.Priority;
+import com.taskmanager.entity.enums.TaskStatus;
+import com.taskmanager.repository.TaskInstanceRepository;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Timed("taskmanager.service")
+public class StatsService {
+
+    private final TaskRepository taskRepository;
+    private final TaskInstanceRepository taskInstanceRepository;
+    private final UserService userService;
+
+    /**
+     * Builds the dashboard counts from two grouped queries, one over one-time
+     * tasks and one over recurring task instances, without loading any task.
+     */
+    @Transactional(readOnly = true)
+    public DashboardStatsDTO getDashboardStats() {
+        Long userId = userService.getCurrentUserId();
+        LocalDate today = LocalDate.now();
+        LocalDateTime weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+
+        List<TaskCountRow> rows = new ArrayList<>(taskRepository.countDashboardTasks(userId, today, weekStart));
+        rows.addAll(taskInstanceRepository.countDashboardInstances(userId, today, weekStart));
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<Priority, Long> pendingByPriority = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            pendingByPriority.put(priority, 0L);
+        }
+
+        DashboardStatsDTO stats = DashboardStatsDTO.builder()
+                .date(today)
+                .byStatus(byStatus)
+                .pendingByPriority(pendingByPriority)
+                .build();
+        for (TaskCountRow row : rows) {
+            long count = row.getCount();
+            stats.setTotal(stats.getTotal() + count);
+            stats.setDueToday(stats.getDueToday() + row.getDueToday());
+            stats.setCompletedThisWeek(stats.getCompletedThisWeek() + row.getCompletedThisWeek());
+            byStatus.merge(row.getStatus(), count, Long::sum);
+
+            if (row.getStatus() == TaskStatus.COMPLETED) {
+                stats.setCompleted(stats.getCompleted() + count);
+            } else if (row.getStatus() != TaskStatus.CANCELLED) {
+                stats.setPending(stats.getPending() + count);
+                stats.setOverdue(stats.getOverdue() + row.getOverdue());
+                if (row.getPriority() != null) {
+                    pendingByPriority.merge(row.getPriority(), count, Long::sum);
+                }
+            }
+        }
+        return stats;
+    }
+}
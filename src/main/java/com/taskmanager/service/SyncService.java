@@ -0,0 +1,178 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.context.ContextDTO;
+import com.taskmanager.dto.notification.NotificationDTO;
+import com.taskmanager.dto.project.ProjectDTO;
+import com.taskmanager.dto.sync.SyncResponseDTO;
+import com.taskmanager.dto.task.TaskDTO;
+import com.taskmanager.entity.ChangeLogEntry;
+import com.taskmanager.exception.ValidationException;
+import com.taskmanager.repository.ChangeLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync over the per-user change feed maintained by {@link ChangeFeedRecorder}.
+ * <p>
+ * A client first calls without a token to get the current one, loads its data
+ * through the regular endpoints, and from then on asks only for what changed
+ * since its last token.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final UserService userService;
+    private final TaskService taskService;
+    private final ProjectService projectService;
+    private final ContextService contextService;
+    private final NotificationService notificationService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    @Value("${application.sync.max-changes:500}")
+    private int maxChanges;
+
+    @Value("${application.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Transactional(readOnly = true)
+    public SyncResponseDTO getChangesSince(String token, int limit) {
+        Long userId = userService.getCurrentUserId();
+        long current = changeLogRepository.findCurrentSeq(userId);
+        if (token == null || token.isBlank()) {
+            return emptyResponse(current, false);
+        }
+
+        long since = parseToken(token);
+        if (since > current || since < changeLogRepository.findPurgedSeq(userId)) {
+            return emptyResponse(current, true);
+        }
+
+        int size = Math.max(1, Math.min(limit, maxChanges));
+        List<ChangeLogEntry> entries = changeLogRepository.findChangesSince(userId, since, PageRequest.of(0, size + 1));
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = completeSequences(userId, entries, size);
+        }
+        long nextToken = entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq();
+
+        Set<String> reload = new TreeSet<>();
+        Map<String, Set<Long>> changedIds = new TreeMap<>();
+        Map<String, List<Long>> deleted = new TreeMap<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityId() == ChangeFeedRecorder.ALL_RECORDS) {
+                reload.add(entry.getEntityType());
+            } else if (entry.isDeleted()) {
+                deleted.computeIfAbsent(entry.getEntityType(), type -> new ArrayList<>()).add(entry.getEntityId());
+            } else {
+                changedIds.computeIfAbsent(entry.getEntityType(), type -> new HashSet<>()).add(entry.getEntityId());
+            }
+        }
+
+        return SyncResponseDTO.builder()
+                .token(Long.toString(nextToken))
+                .hasMore(hasMore)
+                .reload(new ArrayList<>(reload))
+                .tasks(load(userId, changedIds, "Task", taskService::getTasksByIds, TaskDTO::getId, deleted))
+                .taskInstances(load(userId, changedIds, "TaskInstance", taskService::getTaskInstancesByIds,
+                        TaskDTO::getInstanceId, deleted))
+                .projects(load(userId, changedIds, "Project", projectService::getProjectsByIds, ProjectDTO::getId, deleted))
+                .contexts(load(userId, changedIds, "Context", contextService::getContextsByIds, ContextDTO::getId, deleted))
+                .notifications(load(userId, changedIds, "Notification", notificationService::getNotificationsByIds,
+                        NotificationDTO::getId, deleted))
+                .deleted(deleted)
+                .build();
+    }
+
+    /**
+     * Scheduled job to purge old tombstones from the change feed.
+     * Runs daily at 04:00. Clients with tokens older than the purged range must
+     * reload everything.
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    @Transactional
+    public void purgeTombstones() {
+        // The lease commits on its own; lockAtLeastFor outlasts this transaction
+        clusterCoordinator.runLocked("purgeTombstones", Duration.ofHours(1), Duration.ofMinutes(5), () -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+            changeLogRepository.advancePurgedSeq(cutoff);
+            int deleted = changeLogRepository.deleteTombstonesBefore(cutoff);
+            if (deleted > 0) {
+                log.info("Purged {} change feed tombstones older than {} days", deleted, tombstoneRetentionDays);
+            }
+        });
+    }
+
+    /**
+     * Cuts a page at a sequence boundary so the returned token never splits the
+     * changes of one transaction. A single transaction larger than a page is
+     * returned whole.
+     */
+    private List<ChangeLogEntry> completeSequences(Long userId, List<ChangeLogEntry> entries, int size) {
+        long boundary = entries.get(size).getSeq();
+        List<ChangeLogEntry> complete = entries.stream()
+                .filter(entry -> entry.getSeq() < boundary)
+                .collect(Collectors.toList());
+        return complete.isEmpty() ? changeLogRepository.findByUserIdAndSeq(userId, boundary) : complete;
+    }
+
+    private <T> List<T> load(Long userId, Map<String, Set<Long>> changedIds, String entityType,
+                             BiFunction<Long, Collection<Long>, List<T>> loader, Function<T, Long> idOf,
+                             Map<String, List<Long>> deleted) {
+        Set<Long> ids = changedIds.get(entityType);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<T> records = loader.apply(userId, ids);
+        // Records that changed and are no longer visible are reported as deleted
+        Set<Long> missing = new HashSet<>(ids);
+        records.forEach(record -> missing.remove(idOf.apply(record)));
+        if (!missing.isEmpty()) {
+            deleted.computeIfAbsent(entityType, type -> new ArrayList<>()).addAll(missing);
+        }
+        return records;
+    }
+
+    private static long parseToken(String token) {
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid sync token: " + token);
+        }
+    }
+
+    private static SyncResponseDTO emptyResponse(long current, boolean fullResyncRequired) {
+        return SyncResponseDTO.builder()
+                .token(Long.toString(current))
+                .fullResyncRequired(fullResyncRequired)
+                .reload(List.of())
+                .tasks(List.of())
+                .taskInstances(List.of())
+                .projects(List.of())
+                .contexts(List.of())
+                .notifications(List.of())
+                .deleted(Map.of())
+                .build();
+    }
+}
@@ -1,25 +1,37 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanager.dto.task.*;
 import com.taskmanager.entity.*;
+import com.taskmanager.entity.enums.Priority;
 import com.taskmanager.entity.enums.TaskStatus;
+import com.taskmanager.exception.ConflictException;
 import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.exception.ValidationException;
 import com.taskmanager.factory.TaskFactory;
 import com.taskmanager.repository.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("taskmanager.service")
 public class TaskService {
 
     private final TaskRepository taskRepository;
@@ -28,8 +40,22 @@ public class TaskService {
     private final TaskInstanceRepository taskInstanceRepository;
     private final TaskFactory taskFactory;
     private final UserService userService;
-    private final AuditService auditService;
     private final RecurringTaskService recurringTaskService;
+    private final ReminderRepository reminderRepository;
+    private final ChangeFeedRecorder changeFeedRecorder;
+    private final EntityChangeAuditor entityChangeAuditor;
+    private final ObjectMapper objectMapper;
+
+    private static final Map<String, Class<?>> PATCHABLE_FIELDS = Map.of(
+            "title", String.class,
+            "description", String.class,
+            "priority", Priority.class,
+            "status", TaskStatus.class,
+            "dueDate", LocalDate.class,
+            "dueTime", LocalTime.class,
+            "estimatedDuration", Integer.class,
+            "projectId", Long.class);
+    private static final Set<String> REQUIRED_FIELDS = Set.of("title", "priority", "status");
 
     @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
@@ -138,7 +164,6 @@ public class TaskService {
         task = (OneTimeTask) taskRepository.save(task);
 
         log.info("One-time task created: {} by user: {}", task.getTitle(), user.getEmail());
-        auditService.logAction("Task", task.getId(), "CREATE", null, task.getTitle());
 
         return mapToDTO(task);
     }
@@ -153,18 +178,14 @@ public class TaskService {
         recurringTaskService.generateTaskInstances(task);
 
         log.info("Recurring task created: {} by user: {}", task.getTitle(), user.getEmail());
-        auditService.logAction("Task", task.getId(), "CREATE", null, task.getTitle());
 
         return mapToDTO(task);
     }
 
     @Transactional
-    public TaskDTO updateTask(Long id, UpdateTaskRequest request) {
+    public TaskDTO updateTask(Long id, UpdateTaskRequest request, Long expectedVersion) {
         User user = userService.getCurrentUser();
-        Task task = taskRepository.findByIdAndUserId(id, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
-
-        String oldTitle = task.getTitle();
+        Task task = findForUpdate(id, user, expectedVersion);
 
         if (request.getTitle() != null) {
             task.setTitle(request.getTitle());
@@ -204,6 +225,10 @@ public class TaskService {
         if (request.getReminders() != null) {
             // Clear existing reminders
             task.getReminders().clear();
+            if (task instanceof RecurringTask) {
+                // Re-materialized from the new templates on the next run
+                reminderRepository.deleteUnsentInstanceReminders(task.getId());
+            }
 
             // Add new reminders
             for (UpdateTaskRequest.ReminderRequest reminderReq : request.getReminders()) {
@@ -223,13 +248,26 @@ public class TaskService {
             }
         }
 
-        task = taskRepository.save(task);
+        // Flush so the response carries the new version and conflicts surface here
+        task = taskRepository.saveAndFlush(task);
         log.info("Task updated: {} by user: {}", task.getTitle(), user.getEmail());
-        auditService.logAction("Task", task.getId(), "UPDATE", oldTitle, task.getTitle());
 
         return mapToDTO(task);
     }
 
+    /**
+     * Loads a task for an update, failing with a conflict carrying the current
+     * state when the client's version is stale.
+     */
+    private Task findForUpdate(Long id, User user, Long expectedVersion) {
+        Task task = taskRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ConflictException("Task has been modified since version " + expectedVersion, mapToDTO(task));
+        }
+        return task;
+    }
+
     private Reminder createReminderForUpdate(UpdateTaskRequest.ReminderRequest request, Task task) {
         java.time.LocalDateTime remindAt;
         Integer leadMinutes = request.getLeadTimeMinutes() != null ? request.getLeadTimeMinutes() : 0;
@@ -247,6 +285,7 @@ public class TaskService {
                 .task(task)
                 .leadTimeMinutes(leadMinutes)
                 .remindAt(remindAt)
+                .template(task instanceof RecurringTask)
                 .notificationType(request.getNotificationType() != null
                         ? com.taskmanager.entity.enums.NotificationType.valueOf(request.getNotificationType())
                         : com.taskmanager.entity.enums.NotificationType.POPUP)
@@ -255,36 +294,113 @@ public class TaskService {
 
     @Transactional
     public TaskDTO completeTask(Long id) {
-        User user = userService.getCurrentUser();
-        Task task = taskRepository.findByIdAndUserId(id, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        Long userId = userService.getCurrentUserId();
+        TaskDTO task = updateProperties(id, userId, statusChange(TaskStatus.COMPLETED), null);
+        log.info("Task completed: {} by user: {}", id, userId);
+        return task;
+    }
 
-        task.markAsCompleted();
-        task = taskRepository.save(task);
+    /**
+     * Status transitions are written with one ownership-scoped statement that
+     * returns the changed row, so a status click costs one round trip. The
+     * response carries the task's own fields and project, not its contexts or
+     * reminders.
+     */
+    @Transactional
+    public TaskDTO updateTaskStatus(Long id, TaskStatus status, Long expectedVersion) {
+        Long userId = userService.getCurrentUserId();
+        TaskDTO task = updateProperties(id, userId, statusChange(status), expectedVersion);
+        log.info("Task status updated: {} to {} by user: {}", id, status, userId);
+        return task;
+    }
+
+    /**
+     * Applies a JSON merge patch (RFC 7396) to the task's scalar fields with a
+     * single statement. A null value clears the field. Contexts and reminders
+     * are not patchable; they go through {@link #updateTask}.
+     */
+    @Transactional
+    public TaskDTO patchTask(Long id, Map<String, Object> patch, Long expectedVersion) {
+        Long userId = userService.getCurrentUserId();
+        if (patch.isEmpty()) {
+            return getTaskById(id);
+        }
 
-        log.info("Task completed: {} by user: {}", task.getTitle(), user.getEmail());
-        auditService.logAction("Task", task.getId(), "COMPLETE", "status=IN_PROGRESS", "status=COMPLETED");
+        Map<String, Object> properties = new LinkedHashMap<>();
+        patch.forEach((field, value) -> properties.put(field, convertPatchValue(field, value)));
+        if (properties.get("projectId") instanceof Long projectId
+                && !projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+        if (properties.get("status") instanceof TaskStatus status) {
+            properties.putAll(statusChange(status));
+        }
 
-        return mapToDTO(task);
+        TaskDTO task = updateProperties(id, userId, properties, expectedVersion);
+        if (properties.containsKey("dueDate") || properties.containsKey("dueTime")) {
+            reminderRepository.rescheduleForTask(id);
+        }
+        log.info("Task patched: {} fields {} by user: {}", id, patch.keySet(), userId);
+        return task;
     }
 
-    @Transactional
-    public TaskDTO updateTaskStatus(Long id, TaskStatus status) {
-        User user = userService.getCurrentUser();
-        Task task = taskRepository.findByIdAndUserId(id, user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+    private Object convertPatchValue(String field, Object value) {
+        Class<?> type = PATCHABLE_FIELDS.get(field);
+        if (type == null) {
+            throw new ValidationException("Field '" + field + "' cannot be patched; use PUT /tasks/{id}");
+        }
+        if (value == null) {
+            if (REQUIRED_FIELDS.contains(field)) {
+                throw new ValidationException("Field '" + field + "' cannot be removed");
+            }
+            return null;
+        }
+        Object converted;
+        try {
+            converted = objectMapper.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid value for field '" + field + "'");
+        }
+        if (field.equals("title") && (((String) converted).isBlank() || ((String) converted).length() > 200)) {
+            throw new ValidationException("Title must be between 1 and 200 characters");
+        }
+        if (field.equals("description") && ((String) converted).length() > 2000) {
+            throw new ValidationException("Description must be at most 2000 characters");
+        }
+        return converted;
+    }
 
-        String oldStatus = task.getStatus().name();
-        task.setStatus(status);
+    private static Map<String, Object> statusChange(TaskStatus status) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("status", status);
         if (status == TaskStatus.COMPLETED) {
-            task.markAsCompleted();
+            properties.put("completedAt", LocalDateTime.now());
         }
+        return properties;
+    }
 
-        task = taskRepository.save(task);
-        log.info("Task status updated: {} to {} by user: {}", task.getTitle(), status, user.getEmail());
-        auditService.logAction("Task", task.getId(), "UPDATE_STATUS", "status=" + oldStatus, "status=" + status);
-
-        return mapToDTO(task);
+    /**
+     * Writes the properties with one statement and reports the change to the
+     * audit trail and change feed, which do not see statements that bypass the
+     * entity manager.
+     */
+    private TaskDTO updateProperties(Long id, Long userId, Map<String, Object> properties, Long expectedVersion) {
+        TaskRowDTO row = taskRepository.updateProperties(id, userId, properties, expectedVersion)
+                .orElseThrow(() -> taskRepository.findByIdAndUserId(id, userId)
+                        .<RuntimeException>map(task -> new ConflictException(
+                                "Task has been modified since version " + expectedVersion, mapToDTO(task)))
+                        .orElseGet(() -> new ResourceNotFoundException("Task", "id", id)));
+
+        entityChangeAuditor.recordStatementUpdate("Task", id, row.getOldValues(), properties, userId);
+        changeFeedRecorder.recordChange(userId, "Task", id);
+        Object oldProjectId = row.getOldValues().get("projectId");
+        if (oldProjectId instanceof Long projectId && !projectId.equals(row.getProjectId())) {
+            changeFeedRecorder.recordChange(userId, "Project", projectId);
+        }
+        if (row.getProjectId() != null) {
+            changeFeedRecorder.recordChange(userId, "Project", row.getProjectId());
+        }
+        return mapRowToDTO(row);
     }
 
     @Transactional
@@ -293,7 +409,6 @@ public class TaskService {
         Task task = taskRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
 
-        auditService.logAction("Task", task.getId(), "DELETE", task.getTitle(), null);
         taskRepository.delete(task);
         log.info("Task deleted: {} by user: {}", task.getTitle(), user.getEmail());
     }
@@ -320,7 +435,29 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
-    private TaskDTO mapToDTO(Task task) {
+    /**
+     * Loads the given tasks of a user, skipping ids the user does not own.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTasksByIds(Long userId, Collection<Long> ids) {
+        return taskRepository.findByUserIdAndIdIn(userId, ids)
+                .stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the given task instances of a user, skipping ids the user does not own.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTaskInstancesByIds(Long userId, Collection<Long> ids) {
+        return taskInstanceRepository.findByUserIdAndIdIn(userId, ids)
+                .stream()
+                .map(this::mapInstanceToDTO)
+                .collect(Collectors.toList());
+    }
+
+    TaskDTO mapToDTO(Task task) {
         TaskDTO.TaskDTOBuilder builder = TaskDTO.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -333,6 +470,7 @@ public class TaskService {
                 .completedAt(task.getCompletedAt())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .taskType(task.getTaskType())
                 .overdue(task.isOverdue());
 
@@ -384,7 +522,32 @@ public class TaskService {
         return builder.build();
     }
 
-    private TaskDTO mapInstanceToDTO(TaskInstance instance) {
+    private TaskDTO mapRowToDTO(TaskRowDTO row) {
+        return TaskDTO.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .priority(row.getPriority())
+                .status(row.getStatus())
+                .dueDate(row.getDueDate())
+                .dueTime(row.getDueTime())
+                .estimatedDuration(row.getEstimatedDuration())
+                .completedAt(row.getCompletedAt())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .version(row.getVersion())
+                .taskType(row.getTaskType())
+                .overdue(Task.isOverdue(row.getStatus(), row.getDueDate(), row.getDueTime()))
+                .projectId(row.getProjectId())
+                .projectName(row.getProjectName())
+                .build();
+    }
+
+    private Optional<TaskInstance> findInstance(Long instanceId, Long userId) {
+        return taskInstanceRepository.findByUserIdAndIdIn(userId, List.of(instanceId)).stream().findFirst();
+    }
+
+    TaskDTO mapInstanceToDTO(TaskInstance instance) {
         Task task = instance.getRecurringTask();
         TaskDTO.TaskDTOBuilder builder = TaskDTO.builder()
                 .id(task.getId())
@@ -399,6 +562,7 @@ public class TaskService {
                 .completedAt(instance.getCompletedAt())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(instance.getVersion())
                 .taskType("RECURRING_INSTANCE") // Mark as instance
                 .overdue(instance.isOverdue());
 
@@ -419,25 +583,37 @@ public class TaskService {
         return builder.build();
     }
 
-    @Transactional
-    public void updateTaskInstanceStatus(Long instanceId, TaskStatus status) {
-        User user = userService.getCurrentUser();
-        TaskInstance instance = taskInstanceRepository.findById(instanceId)
+    @Transactional(readOnly = true)
+    public TaskDTO getTaskInstance(Long instanceId) {
+        Long userId = userService.getCurrentUserId();
+        return findInstance(instanceId, userId)
+                .map(this::mapInstanceToDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("TaskInstance", "id", instanceId));
+    }
 
-        // Verify user owns this task
-        if (!instance.getRecurringTask().getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("TaskInstance", "id", instanceId);
-        }
-
-        instance.setStatus(status);
-        if (status == TaskStatus.COMPLETED) {
-            instance.setCompletedAt(java.time.LocalDateTime.now());
-        } else {
-            instance.setCompletedAt(null);
-        }
-
-        taskInstanceRepository.save(instance);
-        log.info("Task instance {} status updated to {} by user {}", instanceId, status, user.getEmail());
+    @Transactional
+    public void updateTaskInstanceStatus(Long instanceId, TaskStatus status, Long expectedVersion) {
+        Long userId = userService.getCurrentUserId();
+        LocalDateTime completedAt = status == TaskStatus.COMPLETED ? LocalDateTime.now() : null;
+
+        // The statement only matches instances of the user's own tasks
+        TaskInstanceRepositoryCustom.StatusChange change = taskInstanceRepository
+                .updateStatus(instanceId, userId, status, completedAt, expectedVersion)
+                .orElseThrow(() -> findInstance(instanceId, userId)
+                        .<RuntimeException>map(instance -> new ConflictException(
+                                "Task instance has been modified since version " + expectedVersion,
+                                mapInstanceToDTO(instance)))
+                        .orElseGet(() -> new ResourceNotFoundException("TaskInstance", "id", instanceId)));
+
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        oldValues.put("status", change.oldStatus());
+        oldValues.put("completedAt", change.oldCompletedAt());
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        newValues.put("status", status);
+        newValues.put("completedAt", completedAt);
+        entityChangeAuditor.recordStatementUpdate("TaskInstance", instanceId, oldValues, newValues, userId);
+        changeFeedRecorder.recordChange(userId, "TaskInstance", instanceId);
+
+        log.info("Task instance {} status updated to {} by user {}", instanceId, status, userId);
     }
 }
@@ -0,0 +1,127 @@
+package com.taskmanager.service;
+
+import com.taskmanager.repository.NotificationRepository;
+import com.taskmanager.websocket.NotificationPushService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory unread notification counters per user.
+ * <p>
+ * A counter is seeded from the database on first read and afterwards kept up to
+ * date by the code paths that create, read or delete notifications. Adjustments
+ * are applied after the surrounding transaction commits, and the new count is
+ * pushed to {@code /user/queue/unread-count} so clients do not need to poll.
+ * Counters expire after {@code ttl-ms} and are re-seeded, which bounds drift
+ * from writes made on other nodes.
+ */
+@Component
+@Slf4j
+public class UnreadCountCache {
+
+    static final String UNREAD_COUNT_DESTINATION = "/queue/unread-count";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPushService notificationPushService;
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    @Value("${application.notifications.unread-cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    public UnreadCountCache(NotificationRepository notificationRepository,
+                            NotificationPushService notificationPushService) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPushService = notificationPushService;
+    }
+
+    public long get(Long userId) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.get(userId);
+        if (counter != null && now - counter.seededAt < ttlMillis) {
+            return counter.value.sum();
+        }
+        // Count outside the map; a query inside compute() would block other users hashing to the same bin
+        Counter seeded = new Counter(notificationRepository.countByUserIdAndReadFalse(userId), now);
+        boolean installed = counter == null
+                ? counters.putIfAbsent(userId, seeded) == null
+                : counters.replace(userId, counter, seeded);
+        // Lost the race to another reader or a reset; use the counter that won
+        return (installed ? seeded : counters.getOrDefault(userId, seeded)).value.sum();
+    }
+
+    public void increment(Long userId) {
+        adjust(userId, 1);
+    }
+
+    public void decrement(Long userId) {
+        adjust(userId, -1);
+    }
+
+    /**
+     * Sets the counter to an exact value once the current transaction commits,
+     * for bulk operations whose result is known.
+     */
+    public void reset(Long userId, long count) {
+        afterCommit(() -> {
+            counters.put(userId, new Counter(count, System.currentTimeMillis()));
+            notificationPushService.pushToUser(userId, UNREAD_COUNT_DESTINATION, count);
+        });
+    }
+
+    /**
+     * Drops the counter so the next read re-seeds it from the database.
+     */
+    public void evict(Long userId) {
+        afterCommit(() -> counters.remove(userId));
+    }
+
+    private void adjust(Long userId, long delta) {
+        afterCommit(() -> {
+            Counter counter = counters.get(userId);
+            if (counter == null) {
+                return; // not seeded yet; the first read will see the committed row
+            }
+            counter.value.add(delta);
+            long count = counter.value.sum();
+            if (count < 0) {
+                counters.remove(userId, counter); // drifted; re-seed on next read
+                return;
+            }
+            notificationPushService.pushToUser(userId, UNREAD_COUNT_DESTINATION, count);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.warn("Failed to update unread count cache: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static final class Counter {
+        private final LongAdder value = new LongAdder();
+        private final long seededAt;
+
+        Counter(long initial, long seededAt) {
+            this.value.add(initial);
+            this.seededAt = seededAt;
+        }
+    }
+}
@@ -32,6 +32,18 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
+    /**
+     * Returns the current user's id from the authenticated principal, avoiding
+     * the user lookup when the principal is already the loaded {@link User}.
+     */
+    public Long getCurrentUserId() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        return getCurrentUser().getId();
+    }
+
     public UserDTO getCurrentUserDTO() {
         User user = getCurrentUser();
         return mapToDTO(user);
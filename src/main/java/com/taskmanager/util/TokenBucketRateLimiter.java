@@ -0,0 +1,59 @@
+package com.taskmanager.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token bucket per key. Each bucket holds up to {@code capacity} permits and
+ * refills continuously at {@code permitsPerMinute}.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final int permitsPerMinute;
+
+    public TokenBucketRateLimiter(int capacity, int permitsPerMinute) {
+        this.capacity = capacity;
+        this.permitsPerMinute = permitsPerMinute;
+    }
+
+    /**
+     * Takes one permit for the key.
+     *
+     * @return 0 if a permit was taken, otherwise the number of milliseconds
+     *         until the next permit becomes available
+     */
+    public long tryAcquire(String key) {
+        if (permitsPerMinute <= 0) {
+            return 0;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(capacity, permitsPerMinute))
+                .tryAcquire(System.nanoTime());
+    }
+
+    private static final class Bucket {
+
+        private final double capacity;
+        private final double refillPerNanos;
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(int capacity, int permitsPerMinute) {
+            this.capacity = capacity;
+            this.refillPerNanos = permitsPerMinute / 60_000_000_000d;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized long tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNanos);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNanos / 1_000_000d);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks GET endpoints whose responses only depend on the current user's records
+ * of the listed entity types. {@link ConditionalGetInterceptor} answers them with
+ * an ETag derived from the change feed and returns 304 Not Modified when the
+ * client's copy is still current, without calling the handler.
+ * <p>
+ * Entity types are the names used by the change feed, e.g. {@code "Task"}.
+ * A method-level annotation replaces the one on the controller.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    String[] value();
+
+    /**
+     * Whether responses contain fields that change with the time of day, such as
+     * the overdue flag of tasks with a due time. The ETag then also changes every
+     * minute instead of once a day.
+     */
+    boolean timeOfDay() default false;
+}
@@ -0,0 +1,90 @@
+package com.taskmanager.web;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.service.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Conditional GET support for endpoints annotated with {@link ConditionalGet}.
+ * <p>
+ * The ETag is the highest change feed sequence of the user's records of the
+ * listed types, taken from {@link ResourceVersions}, so the check itself does not
+ * touch the database. The current date is part of the tag because responses carry
+ * date-dependent fields such as the overdue flag, and for
+ * {@link ConditionalGet#timeOfDay()} endpoints also the current minute.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ResourceVersions resourceVersions;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConditionalGet conditionalGet = findAnnotation(handlerMethod);
+        Long userId = currentUserId();
+        if (conditionalGet == null || userId == null) {
+            return true;
+        }
+
+        long version = resourceVersions.current(userId, List.of(conditionalGet.value()));
+        LocalDateTime now = LocalDateTime.now();
+        String etag = "\"" + version + "-" + now.toLocalDate().toEpochDay()
+                + (conditionalGet.timeOfDay() ? "-" + now.toLocalTime().toSecondOfDay() / 60 : "") + "\"";
+        // Set before the handler runs so the header is part of both 200 and 304
+        // responses; no-cache also keeps the security headers from adding no-store
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    private static ConditionalGet findAnnotation(HandlerMethod handlerMethod) {
+        ConditionalGet annotation = AnnotatedElementUtils.findMergedAnnotation(
+                handlerMethod.getMethod(), ConditionalGet.class);
+        return annotation != null
+                ? annotation
+                : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), ConditionalGet.class);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
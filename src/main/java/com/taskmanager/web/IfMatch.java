@@ -0,0 +1,55 @@
+package com.taskmanager.web;
+
+import com.taskmanager.exception.ValidationException;
+
+/**
+ * Parses {@code If-Match} headers of conditional updates. Two kinds of entity
+ * tags are accepted: the {@code version} of the resource as returned in its DTO,
+ * e.g. {@code "3"}, and the ETag of a {@link ConditionalGet} response listing the
+ * resource, e.g. {@code "42-20745"}, whose first part is a change feed sequence.
+ */
+public final class IfMatch {
+
+    private IfMatch() {
+    }
+
+    /**
+     * @return the parsed tag, or null for an unconditional update
+     */
+    public static Tag parse(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            String[] parts = tag.split("-", -1);
+            for (String part : parts) {
+                Long.parseLong(part);
+            }
+            long first = Long.parseLong(parts[0]);
+            if (parts.length == 1) {
+                return new Tag(first, null);
+            }
+            if (parts.length <= 3) {
+                return new Tag(null, first);
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new ValidationException("If-Match must contain the resource version, e.g. \"3\", "
+                + "or the ETag of a listing of the resource");
+    }
+
+    /**
+     * Either the entity version or the change feed sequence the client's copy was
+     * read at.
+     */
+    public record Tag(Long version, Long changeSeq) {
+    }
+}
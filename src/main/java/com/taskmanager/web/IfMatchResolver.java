@@ -0,0 +1,48 @@
+package com.taskmanager.web;
+
+import com.taskmanager.exception.ConflictException;
+import com.taskmanager.repository.ChangeLogRepository;
+import com.taskmanager.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Turns an {@code If-Match} header into the entity version an update is based on.
+ * <p>
+ * A version tag is used as is. A listing ETag is satisfied when the change feed
+ * holds no change to the resource after the tag's sequence; the update is then
+ * based on the current version, so a change committed in between still fails it
+ * through the version check.
+ */
+@Component
+@RequiredArgsConstructor
+public class IfMatchResolver {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final UserService userService;
+
+    /**
+     * @param current   loads the current state, returned with a 409 when the tag is stale
+     * @param versionOf the entity version of the current state
+     * @return the expected version, or null for an unconditional update
+     */
+    public <T> Long expectedVersion(String header, String entityType, Long id,
+                                    Supplier<T> current, Function<T, Long> versionOf) {
+        IfMatch.Tag tag = IfMatch.parse(header);
+        if (tag == null) {
+            return null;
+        }
+        if (tag.version() != null) {
+            return tag.version();
+        }
+        T state = current.get();
+        long latestSeq = changeLogRepository.findLatestEntitySeq(userService.getCurrentUserId(), entityType, id);
+        if (latestSeq > tag.changeSeq()) {
+            throw new ConflictException(entityType + " was modified since it was read", state);
+        }
+        return versionOf.apply(state);
+    }
+}
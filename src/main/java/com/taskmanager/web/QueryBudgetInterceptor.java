@@ -0,0 +1,58 @@
+package com.taskmanager.web;
+
+import com.taskmanager.metrics.QueryBudget;
+import com.taskmanager.metrics.QueryBudgetMonitor;
+import com.taskmanager.metrics.QueryScope;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of each controller request against its
+ * {@link QueryBudget}. The scope is named after the HTTP method and the mapped
+ * path pattern, e.g. {@code GET /tasks}, so requests for different ids share it.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            QueryScope scope = queryBudgetMonitor.open(name, findAnnotation(handlerMethod));
+            if (scope != null) {
+                request.setAttribute(SCOPE_ATTRIBUTE, scope);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope instanceof QueryScope queryScope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            queryBudgetMonitor.close(queryScope);
+        }
+    }
+
+    private static QueryBudget findAnnotation(HandlerMethod handlerMethod) {
+        QueryBudget annotation = AnnotatedElementUtils.findMergedAnnotation(
+                handlerMethod.getMethod(), QueryBudget.class);
+        return annotation != null
+                ? annotation
+                : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.websocket;
+
+import com.taskmanager.dto.notification.NotificationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Session-aware, coalescing push of notifications to {@code /user/queue/notifications}.
+ * <p>
+ * Pushes to users without a connected session are skipped; the notification is
+ * already stored and shows up on the next page load. The first push to a user in
+ * a coalescing window goes out immediately. Further pushes within the window are
+ * buffered and sent as one frame to {@code /user/queue/notifications-batch} when
+ * the window closes, so a burst costs one broker round trip instead of hundreds.
+ */
+@Service
+@Slf4j
+public class NotificationPushService {
+
+    static final String NOTIFICATIONS_DESTINATION = "/queue/notifications";
+    static final String BATCH_DESTINATION = "/queue/notifications-batch";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ConcurrentMap<String, PendingPushes> pending = new ConcurrentHashMap<>();
+
+    @Value("${application.websocket.push.coalesce-window-ms:250}")
+    private long coalesceWindowMillis;
+
+    @Value("${application.websocket.push.max-batch-size:50}")
+    private int maxBatchSize;
+
+    public NotificationPushService(SimpMessagingTemplate messagingTemplate, SimpUserRegistry userRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+    }
+
+    public boolean isConnected(Long userId) {
+        return userRegistry.getUser(userId.toString()) != null;
+    }
+
+    public void push(Long userId, NotificationDTO notification) {
+        String user = userId.toString();
+        if (userRegistry.getUser(user) == null) {
+            log.debug("Skipping push to user {} without an active websocket session", userId);
+            return;
+        }
+
+        boolean sendNow;
+        while (true) {
+            PendingPushes state = pending.computeIfAbsent(user, u -> new PendingPushes());
+            synchronized (state) {
+                if (state.retired) {
+                    continue; // removed by the flusher meanwhile; use a fresh state
+                }
+                long now = System.currentTimeMillis();
+                sendNow = state.buffer.isEmpty() && now - state.lastSentAt >= coalesceWindowMillis;
+                if (sendNow) {
+                    state.lastSentAt = now;
+                } else {
+                    if (state.buffer.size() >= maxBatchSize) {
+                        state.buffer.remove(0); // keep the most recent notifications
+                    }
+                    state.buffer.add(notification);
+                }
+                break;
+            }
+        }
+
+        if (sendNow) {
+            messagingTemplate.convertAndSendToUser(user, NOTIFICATIONS_DESTINATION, notification);
+        }
+    }
+
+    /**
+     * Sends a payload to one of the user's queues without coalescing, skipping
+     * users without a connected session.
+     */
+    public void pushToUser(Long userId, String destination, Object payload) {
+        if (isConnected(userId)) {
+            messagingTemplate.convertAndSendToUser(userId.toString(), destination, payload);
+        }
+    }
+
+    /**
+     * Flushes notifications buffered during the last coalescing window.
+     */
+    @Scheduled(fixedDelayString = "${application.websocket.push.coalesce-window-ms:250}")
+    public void flushPending() {
+        long now = System.currentTimeMillis();
+        pending.forEach((user, state) -> {
+            List<NotificationDTO> batch;
+            synchronized (state) {
+                if (state.buffer.isEmpty()) {
+                    if (now - state.lastSentAt > coalesceWindowMillis * 20) {
+                        state.retired = true; // idle; drop per-user state
+                        pending.remove(user, state);
+                    }
+                    return;
+                }
+                if (now - state.lastSentAt < coalesceWindowMillis) {
+                    return;
+                }
+                batch = new ArrayList<>(state.buffer);
+                state.buffer.clear();
+                state.lastSentAt = now;
+            }
+            if (batch.size() == 1) {
+                messagingTemplate.convertAndSendToUser(user, NOTIFICATIONS_DESTINATION, batch.get(0));
+            } else {
+                messagingTemplate.convertAndSendToUser(user, BATCH_DESTINATION, batch);
+                log.debug("Coalesced {} notifications into one push for user {}", batch.size(), user);
+            }
+        });
+    }
+
+    private static final class PendingPushes {
+        private final List<NotificationDTO> buffer = new ArrayList<>();
+        private long lastSentAt;
+        private boolean retired;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.websocket;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.security.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP CONNECT frames with the same JWT the REST API uses and
+ * binds the session to the user, so user destinations and the user registry
+ * know which sessions belong to whom.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            throw new MessageDeliveryException("Missing bearer token on STOMP CONNECT");
+        }
+
+        String jwt = authHeader.substring(BEARER_PREFIX.length());
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
+            if (!jwtService.isTokenValid(jwt, userDetails) || !(userDetails instanceof User user)) {
+                throw new MessageDeliveryException("Invalid bearer token on STOMP CONNECT");
+            }
+            accessor.setUser(new StompUserPrincipal(user.getId()));
+        } catch (MessageDeliveryException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Rejected STOMP CONNECT: {}", e.getMessage());
+            throw new MessageDeliveryException("Invalid bearer token on STOMP CONNECT");
+        }
+        return message;
+    }
+}
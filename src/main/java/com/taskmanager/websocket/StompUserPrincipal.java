@@ -0,0 +1,26 @@
+package com.taskmanager.websocket;
+
+import java.security.Principal;
+
+/**
+ * STOMP session principal named by user id, matching the user name passed to
+ * {@code convertAndSendToUser}. Keeps email addresses out of broker destinations.
+ */
+public class StompUserPrincipal implements Principal {
+
+    private final String name;
+
+    public StompUserPrincipal(Long userId) {
+        this.name = userId.toString();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "StompUserPrincipal[" + name + "]";
+    }
+}
@@ -0,0 +1,34 @@
+-- Moves id generation of existing databases from identity columns to the pooled
+-- sequences (allocation size 50) the entities use. Fresh databases get the
+-- sequences from Hibernate and do not need this.
+--
+-- Run once before starting a version that uses the sequences, e.g.
+--   psql -d taskmanager -f src/main/resources/db/identity-to-sequences.sql
+-- Re-running is safe: a sequence is never moved backwards.
+--
+-- audit_logs and change_log keep their identity columns; they are written by
+-- plain SQL that takes the id from the column default.
+
+DO $$
+DECLARE
+    table_name text;
+    sequence_name text;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY[
+        'users', 'contexts', 'projects', 'recurrence_patterns', 'tasks', 'task_instances',
+        'task_comments', 'reminders', 'notifications', 'notification_preferences',
+        'notification_outbox', 'dead_letter_mails']
+    LOOP
+        CONTINUE WHEN to_regclass(table_name) IS NULL;
+        sequence_name := table_name || '_seq';
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', sequence_name);
+        -- The pooled optimizer hands out the 50 ids up to each value it fetches, so
+        -- the sequence must sit at or above the highest id already in use
+        EXECUTE format('SELECT setval(%L, GREATEST((SELECT COALESCE(MAX(id), 0) FROM %I), '
+                       || '(SELECT COALESCE(last_value, 1) FROM pg_sequences '
+                       || 'WHERE schemaname = current_schema() AND sequencename = %L), 1))',
+                       sequence_name, table_name, sequence_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', table_name);
+    END LOOP;
+END $$;
@@ -0,0 +1,14 @@
+-- Turns the reminders of existing recurring tasks into templates. Templates are
+-- never sent themselves; RecurringTaskService copies them onto every instance
+-- due within the reminder horizon. Fresh databases do not need this.
+--
+-- Run once before starting a version that materializes instance reminders, e.g.
+--   psql -d taskmanager -f src/main/resources/db/recurring-reminder-templates.sql
+-- Only run it before the first start: afterwards the per-instance reminders
+-- of recurring tasks exist and must stay non-templates.
+
+ALTER TABLE reminders ADD COLUMN IF NOT EXISTS template boolean NOT NULL DEFAULT false;
+
+UPDATE reminders SET template = true
+WHERE template = false
+  AND task_id IN (SELECT id FROM tasks WHERE task_type = 'RECURRING');
@@ -0,0 +1,165 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.metrics.QueryBudget;
+import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the {@link QueryBudget}s of the main list endpoints against a seeded
+ * database, so an N+1 regression fails the build. Data is seeded with plain
+ * INSERTs, enough rows per association that a per-row query would exceed the
+ * budget.
+ */
+@SpringBootTest(properties = "application.query-budget.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetIntegrationTest {
+
+    private static final long USER_ID = 9001L;
+    private static final int PROJECTS = 5;
+    private static final int TASKS_PER_PROJECT = 12;
+    private static final int RECURRING_TASKS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User currentUser;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        Timestamp created = Timestamp.valueOf(now.minusDays(30));
+
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name, created_at, updated_at, "
+                + "enabled) VALUES (?, ?, ?, ?, ?, ?, ?, true)", USER_ID, "budget@example.com", "{noop}secret",
+                "Query", "Budget", created, created);
+        long contextA = USER_ID * 10;
+        long contextB = contextA + 1;
+        for (long contextId : new long[]{contextA, contextB}) {
+            jdbcTemplate.update("INSERT INTO contexts (id, user_id, name, is_default, created_at) "
+                    + "VALUES (?, ?, ?, false, ?)", contextId, USER_ID, "@context-" + contextId, created);
+        }
+
+        long taskId = USER_ID * 1000;
+        long reminderId = USER_ID * 1000;
+        for (int p = 0; p < PROJECTS; p++) {
+            long projectId = USER_ID * 100 + p;
+            jdbcTemplate.update("INSERT INTO projects (id, user_id, name, archived, created_at, updated_at, version) "
+                    + "VALUES (?, ?, ?, false, ?, ?, 0)", projectId, USER_ID, "Project " + p, created, created);
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                taskId++;
+                insertTask(taskId, "ONE_TIME", projectId, null, today.plusDays(t % 3 - 1), created);
+                jdbcTemplate.update("INSERT INTO task_contexts (task_id, context_id) VALUES (?, ?)", taskId, contextA);
+                jdbcTemplate.update("INSERT INTO task_contexts (task_id, context_id) VALUES (?, ?)", taskId, contextB);
+                insertReminder(++reminderId, taskId, null, now.plusHours(t + 1), false);
+            }
+        }
+
+        long instanceId = USER_ID * 1000;
+        for (int r = 0; r < RECURRING_TASKS; r++) {
+            long patternId = USER_ID * 10 + r;
+            jdbcTemplate.update("INSERT INTO recurrence_patterns (id, frequency, interval, start_date) "
+                    + "VALUES (?, 'DAILY', 1, ?)", patternId, Date.valueOf(today.minusDays(7)));
+            taskId++;
+            insertTask(taskId, "RECURRING", USER_ID * 100, patternId, null, created);
+            jdbcTemplate.update("INSERT INTO task_contexts (task_id, context_id) VALUES (?, ?)", taskId, contextA);
+            insertReminder(++reminderId, taskId, null, now, true);
+            for (int d = -1; d <= 2; d++) {
+                instanceId++;
+                jdbcTemplate.update("INSERT INTO task_instances (id, recurring_task_id, scheduled_date, "
+                        + "scheduled_time, status, created_at, version) VALUES (?, ?, ?, ?, 'NOT_STARTED', ?, 0)",
+                        instanceId, taskId, Date.valueOf(today.plusDays(d)), Time.valueOf(LocalTime.of(9, 0)), created);
+                insertReminder(++reminderId, taskId, instanceId, today.plusDays(d).atTime(8, 45), false);
+            }
+        }
+
+        currentUser = userRepository.findById(USER_ID).orElseThrow();
+    }
+
+    @Test
+    void getAllTasksStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/tasks").with(user(currentUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS * TASKS_PER_PROJECT + RECURRING_TASKS));
+
+        assertWithinBudget("GET /tasks", budgetOf(TaskController.class, "getAllTasks"));
+    }
+
+    @Test
+    void getTodayTasksStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/tasks/today").with(user(currentUser)))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("GET /tasks/today", budgetOf(TaskController.class, "getTodayTasks"));
+    }
+
+    @Test
+    void getAllProjectsStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/projects").with(user(currentUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS));
+
+        assertWithinBudget("GET /projects", budgetOf(ProjectController.class, "getAllProjects"));
+    }
+
+    private void insertTask(long id, String type, long projectId, Long patternId, LocalDate dueDate,
+                            Timestamp created) {
+        jdbcTemplate.update("INSERT INTO tasks (id, task_type, user_id, project_id, recurrence_pattern_id, title, "
+                        + "priority, status, due_date, created_at, updated_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 'B', 'NOT_STARTED', ?, ?, ?, 0)",
+                id, type, USER_ID, projectId, patternId, "Task " + id,
+                dueDate != null ? Date.valueOf(dueDate) : null, created, created);
+    }
+
+    private void insertReminder(long id, long taskId, Long instanceId, LocalDateTime remindAt, boolean template) {
+        jdbcTemplate.update("INSERT INTO reminders (id, task_id, task_instance_id, remind_at, lead_time_minutes, "
+                        + "notification_type, sent, acknowledged, template, created_at) "
+                        + "VALUES (?, ?, ?, ?, 15, 'POPUP', false, false, ?, ?)",
+                id, taskId, instanceId, Timestamp.valueOf(remindAt), template, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void assertWithinBudget(String scope, int budget) {
+        DistributionSummary statements = meterRegistry.get("taskmanager.query.count").tag("scope", scope).summary();
+        assertThat(statements.count()).as("requests counted for %s", scope).isPositive();
+        assertThat((int) statements.max()).as("SQL statements of %s", scope).isBetween(1, budget);
+    }
+
+    private static int budgetOf(Class<?> controller, String method) throws NoSuchMethodException {
+        return controller.getMethod(method).getAnnotation(QueryBudget.class).value();
+    }
+}
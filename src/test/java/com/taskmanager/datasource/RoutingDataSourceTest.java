@@ -0,0 +1,111 @@
+package com.taskmanager.datasource;
+
+import com.taskmanager.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two in-memory H2 databases standing in for the primary and
+ * the replica; each holds a row naming itself, so a query shows which pool
+ * served it. The replica's lag is whatever its lag query returns.
+ */
+class RoutingDataSourceTest {
+
+    private static final long USER_ID = 42L;
+
+    private RecentWrites recentWrites;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = standIn("primary");
+        replica = standIn("replica");
+        recentWrites = new RecentWrites();
+        ReflectionTestUtils.setField(recentWrites, "enabled", true);
+        ReflectionTestUtils.setField(recentWrites, "stickyMillis", 60_000L);
+        route(primary, lagMonitor("SELECT 0"));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                User.builder().id(USER_ID).email("routing@example.com").build(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        assertThat(servedBy(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void recentlyWritingUserReadsFromPrimary() {
+        recentWrites.record(USER_ID);
+
+        assertThat(servedBy(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        route(standIn("primary"), lagMonitor("SELECT 60000"));
+
+        assertThat(servedBy(readOnly)).isEqualTo("primary");
+    }
+
+    private void route(DataSource primary, ReplicaLagMonitor lagMonitor) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoutingDataSource routing = new RoutingDataSource(primary, null, replica, lagMonitor, recentWrites, registry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private ReplicaLagMonitor lagMonitor(String lagQuery) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, recentWrites, lagQuery, 2000, 1000,
+                new SimpleMeterRegistry());
+        monitor.check();
+        return monitor;
+    }
+
+    private String servedBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM pool", String.class));
+    }
+
+    private static DataSource standIn(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE pool (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO pool (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.taskmanager.entity.DeadLetterMail;
+import com.taskmanager.entity.QueuedMail;
+import com.taskmanager.repository.DeadLetterMailRepository;
+import com.taskmanager.repository.QueuedMailRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the delivery workers against a GreenMail SMTP server on port 3025, the
+ * port the test profile points {@code spring.mail} at. Retries and
+ * dead-lettering are provoked by stopping the server.
+ */
+@SpringBootTest(properties = {
+        "application.mail.delivery.workers=1",
+        "application.mail.delivery.poll-interval-ms=50",
+        "application.mail.delivery.max-attempts=3",
+        "application.mail.delivery.backoff-initial-ms=200",
+        "application.mail.delivery.backoff-max-ms=800"
+})
+@ActiveProfiles("test")
+class MailDeliveryServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailDeliveryService mailDeliveryService;
+
+    @Autowired
+    private QueuedMailRepository queuedMailRepository;
+
+    @Autowired
+    private DeadLetterMailRepository deadLetterMailRepository;
+
+    @BeforeEach
+    void clearQueue() {
+        queuedMailRepository.deleteAll();
+        deadLetterMailRepository.deleteAll();
+    }
+
+    @Test
+    void sendsQueuedMailAndRemovesItFromTheQueue() throws Exception {
+        mailDeliveryService.enqueue("sent@example.com", "test-email", model("sent@example.com"));
+
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, 1)).isTrue();
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertThat(message.getAllRecipients()[0].toString()).isEqualTo("sent@example.com");
+        assertThat(message.getSubject()).isEqualTo("Test Email from Task Manager");
+        awaitTrue(() -> queuedMailRepository.count() == 0);
+    }
+
+    @Test
+    void retriesWithBackoffUntilTheServerAcceptsTheMail() {
+        greenMail.stop();
+        mailDeliveryService.enqueue("retry@example.com", "test-email", model("retry@example.com"));
+
+        awaitTrue(() -> queuedMailRepository.findAll().stream().anyMatch(mail -> mail.getAttempts() >= 1));
+        QueuedMail failed = queuedMailRepository.findAll().get(0);
+        assertThat(failed.getLastError()).isNotBlank();
+        assertThat(failed.getClaimedUntil()).isNull();
+        assertThat(failed.getNextAttemptAt()).isAfter(failed.getCreatedAt());
+
+        greenMail.start();
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, 1)).isTrue();
+        awaitTrue(() -> queuedMailRepository.count() == 0);
+        assertThat(deadLetterMailRepository.count()).isZero();
+    }
+
+    @Test
+    void movesMailToDeadLettersAfterTheLastAttempt() {
+        greenMail.stop();
+        mailDeliveryService.enqueue("dead@example.com", "test-email", model("dead@example.com"));
+
+        awaitTrue(() -> !deadLetterMailRepository.findByRecipientOrderByCreatedAtDesc("dead@example.com").isEmpty());
+        List<DeadLetterMail> deadLetters = deadLetterMailRepository.findByRecipientOrderByCreatedAtDesc("dead@example.com");
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0).getAttempts()).isEqualTo(3);
+        assertThat(deadLetters.get(0).getLastError()).isNotBlank();
+        assertThat(queuedMailRepository.count()).isZero();
+    }
+
+    private static Map<String, Object> model(String email) {
+        return Map.of("firstName", "Test", "email", email, "sentAt", LocalDateTime.now());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}